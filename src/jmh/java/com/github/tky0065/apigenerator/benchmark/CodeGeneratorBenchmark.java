@@ -0,0 +1,153 @@
+package com.github.tky0065.apigenerator.benchmark;
+
+import com.github.tky0065.apigenerator.config.ApiGeneratorConfig;
+import com.github.tky0065.apigenerator.model.EntityModel;
+import com.github.tky0065.apigenerator.service.CodeGenerator;
+import com.github.tky0065.apigenerator.service.impl.ControllerGenerator;
+import com.github.tky0065.apigenerator.service.impl.DtoGenerator;
+import com.github.tky0065.apigenerator.service.impl.MapperGenerator;
+import com.github.tky0065.apigenerator.service.impl.RepositoryGenerator;
+import com.github.tky0065.apigenerator.service.impl.ServiceGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure le coût de {@link CodeGenerator#generateCode} pour chaque générateur, sur des entités
+ * synthétiques de taille croissante mêlant types simples, énumérations, relations et collections.
+ * Lancer avec {@code ./gradlew jmh} ; le profileur {@code gc} ajoute le taux d'allocation par opération.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CodeGeneratorBenchmark {
+
+    private static final String ENTITY_PACKAGE = "com.example.domain";
+
+    @Param({"5", "50", "500", "2000"})
+    private int fieldCount;
+
+    @Param({"DTO", "MAPPER", "REPOSITORY", "SERVICE", "CONTROLLER"})
+    private String generatorType;
+
+    private CodeGenerator generator;
+    private EntityModel entityModel;
+    private ApiGeneratorConfig config;
+
+    @Setup
+    public void setUp() {
+        generator = createGenerator(generatorType);
+        entityModel = createEntityModel(fieldCount);
+        config = new ApiGeneratorConfig();
+        config.setBasePackage("com.example");
+    }
+
+    @Benchmark
+    public String generateCode() {
+        // Les générateurs n'utilisent pas le projet : aucune instance de la plateforme n'est nécessaire
+        return generator.generateCode(null, entityModel, config);
+    }
+
+    private static CodeGenerator createGenerator(String type) {
+        switch (type) {
+            case "DTO":
+                return new DtoGenerator();
+            case "MAPPER":
+                return new MapperGenerator();
+            case "REPOSITORY":
+                return new RepositoryGenerator();
+            case "SERVICE":
+                return new ServiceGenerator();
+            case "CONTROLLER":
+                return new ControllerGenerator();
+            default:
+                throw new IllegalArgumentException("Type de générateur inconnu : " + type);
+        }
+    }
+
+    /**
+     * Construit une entité avec un identifiant, un champ de version et {@code fieldCount} champs
+     * répartis entre types simples, énumérations, relations simples, collections et champs transitoires.
+     */
+    private static EntityModel createEntityModel(int fieldCount) {
+        EntityModel.EntityField idField = EntityModel.EntityField.builder()
+                .name("id")
+                .type("Long")
+                .qualifiedType("java.lang.Long")
+                .columnName("id")
+                .isId(true)
+                .build();
+
+        List<EntityModel.EntityField> fields = new ArrayList<>(fieldCount + 2);
+        fields.add(idField);
+        fields.add(EntityModel.EntityField.builder()
+                .name("version")
+                .type("int")
+                .qualifiedType("int")
+                .columnName("version")
+                .isPrimitive(true)
+                .isVersion(true)
+                .build());
+
+        for (int i = 0; i < fieldCount; i++) {
+            fields.add(createField(i));
+        }
+
+        return EntityModel.builder()
+                .className("BenchmarkEntity")
+                .packageName(ENTITY_PACKAGE)
+                .qualifiedName(ENTITY_PACKAGE + ".BenchmarkEntity")
+                .tableName("benchmark_entity")
+                .fields(fields)
+                .idField(idField)
+                .build();
+    }
+
+    private static EntityModel.EntityField createField(int index) {
+        String name = "field" + index;
+        EntityModel.EntityField.EntityFieldBuilder builder = EntityModel.EntityField.builder()
+                .name(name)
+                .columnName(name.toLowerCase());
+
+        switch (index % 10) {
+            case 0:
+                return builder.type("String").qualifiedType("java.lang.String").build();
+            case 1:
+                return builder.type("int").qualifiedType("int").isPrimitive(true).build();
+            case 2:
+                return builder.type("BigDecimal").qualifiedType("java.math.BigDecimal").build();
+            case 3:
+                return builder.type("LocalDateTime").qualifiedType("java.time.LocalDateTime").build();
+            case 4:
+                return builder.type("Status").qualifiedType(ENTITY_PACKAGE + ".Status").isEnum(true).build();
+            case 5:
+                return builder.type("Customer").qualifiedType(ENTITY_PACKAGE + ".Customer")
+                        .relationshipType("ManyToOne").build();
+            case 6:
+                return builder.type("List<OrderLine>")
+                        .qualifiedType("java.util.List<" + ENTITY_PACKAGE + ".OrderLine>")
+                        .isCollection(true).collectionType("List").genericType("OrderLine")
+                        .relationshipType("OneToMany").build();
+            case 7:
+                return builder.type("Set<Tag>")
+                        .qualifiedType("java.util.Set<" + ENTITY_PACKAGE + ".Tag>")
+                        .isCollection(true).collectionType("Set").genericType("Tag")
+                        .relationshipType("ManyToMany").build();
+            case 8:
+                return builder.type("Map<String, List<Long>>")
+                        .qualifiedType("java.util.Map<java.lang.String, java.util.List<java.lang.Long>>")
+                        .isCollection(true).collectionType("Map").genericType("String, List<Long>").build();
+            default:
+                return builder.type("String").qualifiedType("java.lang.String").isTransient(true).build();
+        }
+    }
+}
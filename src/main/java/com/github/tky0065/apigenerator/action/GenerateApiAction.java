@@ -1,29 +1,46 @@
 package com.github.tky0065.apigenerator.action;
 
 import com.github.tky0065.apigenerator.config.ApiGeneratorConfig;
+import com.github.tky0065.apigenerator.index.JpaEntityIndex;
 import com.github.tky0065.apigenerator.model.EntityModel;
-import com.github.tky0065.apigenerator.service.CodeGenerator;
+import com.github.tky0065.apigenerator.model.GeneratedFile;
+import com.github.tky0065.apigenerator.service.ApiGenerationService;
 import com.github.tky0065.apigenerator.service.DependencyValidationService;
 import com.github.tky0065.apigenerator.service.DependencyValidationService.DependencyValidationResult;
 import com.github.tky0065.apigenerator.service.EntityAnalyzerService;
+import com.github.tky0065.apigenerator.service.EntityModelCache;
 import com.github.tky0065.apigenerator.service.EntityValidationService;
 import com.github.tky0065.apigenerator.service.EntityValidationService.ValidationResult;
 import com.github.tky0065.apigenerator.service.ErrorMessageService;
 import com.github.tky0065.apigenerator.service.ErrorMessageService.Message;
 import com.github.tky0065.apigenerator.service.ExistingFileService;
 import com.github.tky0065.apigenerator.service.ExistingFileService.FileAction;
+import com.github.tky0065.apigenerator.service.GenerationManifest;
+import com.github.tky0065.apigenerator.service.GenerationMetrics;
 import com.github.tky0065.apigenerator.service.LoggingService;
 import com.github.tky0065.apigenerator.service.impl.*;
+import com.github.tky0065.apigenerator.service.impl.GeneratedFileWriter.WriteStatus;
 import com.github.tky0065.apigenerator.ui.ApiGeneratorDialog;
-import com.intellij.ide.highlighter.JavaFileType;
+import com.github.tky0065.apigenerator.util.PsiUtils;
+import com.github.tky0065.apigenerator.util.TypeResolutionCache;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.command.WriteCommandAction;
 import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.DialogWrapper;
 import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.*;
 import com.intellij.psi.util.PsiTreeUtil;
 import org.jetbrains.annotations.NotNull;
@@ -34,7 +51,6 @@ import java.awt.datatransfer.Clipboard;
 import java.awt.datatransfer.StringSelection;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Action permettant de générer du code API pour une classe JPA Entity.
@@ -48,10 +64,20 @@ public class GenerateApiAction extends AnAction {
     private final ErrorMessageService errorMessageService = new ErrorMessageServiceImpl();
     private final LoggingService loggingService = new LoggingServiceImpl();
     private final ExistingFileService existingFileService;
+    private final ApiGenerationService apiGenerationService;
+    private final GeneratedFileWriter fileWriter;
 
     public GenerateApiAction() {
         // Initialiser les services
         this.existingFileService = new ExistingFileServiceImpl(loggingService);
+        this.apiGenerationService = new ApiGenerationServiceImpl(entityAnalyzerService, existingFileService, loggingService);
+        this.fileWriter = new GeneratedFileWriter(loggingService);
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        // La vérification s'appuie sur une valeur en cache par fichier : inutile de bloquer l'EDT
+        return ActionUpdateThread.BGT;
     }
 
     @Override
@@ -61,13 +87,26 @@ public class GenerateApiAction extends AnAction {
         Editor editor = e.getData(CommonDataKeys.EDITOR);
         PsiFile psiFile = e.getData(CommonDataKeys.PSI_FILE);
 
-        // L'action est disponible uniquement si nous avons un projet, un éditeur et un fichier Java
+        // L'action est disponible uniquement si nous avons un projet, un éditeur et un fichier déclarant une entité
         boolean enabled = project != null && editor != null && psiFile != null
-                && isPossiblyEntity(psiFile, editor.getCaretModel().getOffset());
+                && containsJpaEntity(project, psiFile);
 
         e.getPresentation().setEnabledAndVisible(enabled);
     }
 
+    /**
+     * Vérifie si le fichier déclare une entité : par l'index des entités, ou par son PSI pendant l'indexation
+     * et pour les modifications non encore enregistrées.
+     */
+    private boolean containsJpaEntity(Project project, PsiFile psiFile) {
+        VirtualFile file = psiFile.getVirtualFile();
+        if (file == null || DumbService.isDumb(project)
+                || FileDocumentManager.getInstance().isFileModified(file)) {
+            return PsiUtils.containsJpaEntity(psiFile);
+        }
+        return JpaEntityIndex.containsEntity(project, file);
+    }
+
     @Override
     public void actionPerformed(@NotNull AnActionEvent e) {
         Project project = e.getProject();
@@ -78,18 +117,100 @@ public class GenerateApiAction extends AnAction {
             return;
         }
 
-        // Récupérer la classe sous le curseur
-        PsiClass psiClass = getPsiClassAtCursor(psiFile, editor.getCaretModel().getOffset());
+        int offset = editor.getCaretModel().getOffset();
+        SmartPsiElementPointer<PsiFile> filePointer = SmartPointerManager.createPointer(psiFile);
+
+        // Valider et analyser l'entité en arrière-plan ; l'analyse redémarre si le PSI change entre-temps
+        new Task.Backgroundable(project, "Analyse de l'entité JPA", true) {
+            private EntityAnalysis analysis;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                analysis = ReadAction.nonBlocking(() -> analyzeEntityAtCursor(filePointer, offset))
+                        .inSmartMode(project)
+                        .wrapProgress(indicator)
+                        .expireWith(project)
+                        .executeSynchronously();
+
+                // L'action de lecture peut redémarrer : seules les mesures de l'exécution retenue sont enregistrées
+                if (analysis != null && analysis.validateNanos >= 0) {
+                    loggingService.logTiming(project, GenerationMetrics.PHASE_VALIDATE, analysis.validateNanos);
+                }
+                if (analysis != null && analysis.analyzeNanos >= 0) {
+                    loggingService.logTiming(project, GenerationMetrics.PHASE_ANALYZE, analysis.analyzeNanos);
+                }
+            }
+
+            @Override
+            public void onSuccess() {
+                if (analysis != null) {
+                    continueWithAnalysis(project, analysis);
+                }
+            }
+        }.queue();
+    }
+
+    /**
+     * Valide et analyse la classe sous le curseur.
+     * Exécuté dans une action de lecture non bloquante : ne doit pas avoir d'effet de bord.
+     * Les durées mesurées sont retournées dans le résultat et enregistrées par l'appelant.
+     */
+    private EntityAnalysis analyzeEntityAtCursor(SmartPsiElementPointer<PsiFile> filePointer, int offset) {
+        PsiFile psiFile = filePointer.getElement();
+        PsiClass psiClass = psiFile != null ? getTargetClass(psiFile, offset) : null;
         if (psiClass == null) {
+            return new EntityAnalysis(null, null, null, null, null, null);
+        }
+
+        Project project = psiClass.getProject();
+
+        // La validation et l'analyse partagent la résolution des types des champs
+        TypeResolutionCache typeCache = new TypeResolutionCache();
+
+        // Valider l'entité avant de continuer
+        long validateStart = System.nanoTime();
+        ValidationResult validationResult = entityValidationService.validateEntity(psiClass, typeCache);
+        long validateNanos = System.nanoTime() - validateStart;
+        if (!validationResult.isValid()) {
+            EntityAnalysis analysis = new EntityAnalysis(psiClass.getQualifiedName(), validationResult, null, null, null, null);
+            analysis.validateNanos = validateNanos;
+            return analysis;
+        }
+
+        // Analyser l'entité (ou réutiliser le modèle en cache) puis valider le modèle obtenu
+        long analyzeStart = System.nanoTime();
+        EntityModel entityModel = EntityModelCache.getInstance(project).getEntityModel(psiClass, typeCache);
+        long analyzeNanos = System.nanoTime() - analyzeStart;
+        ValidationResult modelValidationResult = entityValidationService.validateEntityModel(entityModel);
+
+        // Les fichiers générés sont écrits dans le module de l'entité
+        Module module = ModuleUtilCore.findModuleForPsiElement(psiClass);
+        VirtualFile entityFile = psiClass.getContainingFile().getVirtualFile();
+
+        EntityAnalysis analysis = new EntityAnalysis(psiClass.getQualifiedName(), validationResult, entityModel,
+                modelValidationResult, module != null ? module.getName() : null,
+                entityFile != null ? entityFile.getPath() : null);
+        analysis.validateNanos = validateNanos;
+        analysis.analyzeNanos = analyzeNanos;
+        return analysis;
+    }
+
+    /**
+     * Poursuit la génération sur l'EDT une fois l'analyse terminée : messages, dialogue de configuration.
+     */
+    private void continueWithAnalysis(Project project, EntityAnalysis analysis) {
+        if (analysis.className == null) {
             loggingService.warn(project, "No class found at cursor position");
             return;
         }
 
-        String className = psiClass.getQualifiedName();
+        String className = analysis.className;
+        ValidationResult validationResult = analysis.validationResult;
         loggingService.logAction(project, "GenerateApi", "Starting API generation for class " + className);
 
-        // Valider l'entité avant de continuer
-        ValidationResult validationResult = entityValidationService.validateEntity(psiClass);
+        EntityModelCache entityModelCache = EntityModelCache.getInstance(project);
+        loggingService.debug(project, () -> "Entity model cache: " + entityModelCache.getHitCount() + " hit(s), "
+                + entityModelCache.getMissCount() + " miss(es)");
 
         // Journaliser le résultat de la validation
         loggingService.logEntityValidation(project, className, validationResult.isValid(),
@@ -118,11 +239,9 @@ public class GenerateApiAction extends AnAction {
             }
         }
 
-        // Analyser l'entité
-        EntityModel entityModel = entityAnalyzerService.analyzeEntity(psiClass);
-
         // Valider le modèle d'entité
-        ValidationResult modelValidationResult = entityValidationService.validateEntityModel(entityModel);
+        EntityModel entityModel = analysis.entityModel;
+        ValidationResult modelValidationResult = analysis.modelValidationResult;
         if (!modelValidationResult.isValid()) {
             loggingService.error(project, "Entity model validation failed: " +
                     String.join(", ", modelValidationResult.getErrors()));
@@ -134,7 +253,7 @@ public class GenerateApiAction extends AnAction {
 
         // Créer une configuration par défaut
         ApiGeneratorConfig config = new ApiGeneratorConfig();
-        config.setBasePackage(psiClass.getQualifiedName().substring(0, psiClass.getQualifiedName().lastIndexOf(".")));
+        config.setBasePackage(className.substring(0, className.lastIndexOf(".")));
 
         // Ouvrir le dialogue de configuration
         ApiGeneratorDialog dialog = new ApiGeneratorDialog(project, config, entityModel);
@@ -151,21 +270,8 @@ public class GenerateApiAction extends AnAction {
                 ", generateService=" + config.isGenerateService() +
                 ", generateController=" + config.isGenerateController());
 
-        // Valider les dépendances requises en fonction de la configuration
-        DependencyValidationResult dependencyResult = dependencyValidationService.validateDependencies(project, config);
-        if (dependencyResult.hasMissingDependencies()) {
-            loggingService.warn(project, "Missing dependencies: " +
-                    String.join(", ", dependencyResult.getMissingDependencies()));
-
-            if (!showDependencyWarningDialog(project, dependencyResult)) {
-                // L'utilisateur a choisi de ne pas continuer
-                loggingService.info(project, "User cancelled generation due to missing dependencies");
-                return;
-            }
-        }
-
         // L'utilisateur a validé, générer le code selon la configuration
-        generateCode(project, entityModel, config);
+        generateCode(project, entityModel, analysis.moduleName, analysis.entityFilePath, config);
     }
 
     /**
@@ -235,178 +341,203 @@ public class GenerateApiAction extends AnAction {
 
     /**
      * Génère le code en fonction de la configuration de l'utilisateur.
+     * La validation des dépendances et la génération s'exécutent en arrière-plan ;
+     * seuls les dialogues et l'écriture finale reviennent sur l'EDT.
      */
-    private void generateCode(Project project, EntityModel entityModel, ApiGeneratorConfig config) {
-        // Liste pour stocker les résultats de génération
-        List<GeneratedFile> generatedFiles = new ArrayList<>();
-        List<String> generatedTypes = new ArrayList<>();
-
-        try {
-            loggingService.info(project, "Starting code generation for entity " + entityModel.getClassName());
-
-            // Générer les différentes couches selon la configuration
-            if (config.isGenerateDto()) {
-                loggingService.debug(project, "Generating DTO");
-                CodeGenerator dtoGenerator = new DtoGenerator();
-                String dtoCode = dtoGenerator.generateCode(project, entityModel, config);
-                generatedFiles.add(new GeneratedFile(
-                        dtoGenerator.getGeneratedPackageName(entityModel, config),
-                        dtoGenerator.getGeneratedClassName(entityModel, config),
-                        dtoCode
-                ));
-                generatedTypes.add("DTO");
+    private void generateCode(Project project, EntityModel entityModel, String moduleName, String entityFilePath,
+                              ApiGeneratorConfig config) {
+        new Task.Backgroundable(project, "Génération de l'API", true) {
+            private DependencyValidationResult dependencyResult;
+            private List<GeneratedFile> generatedFiles;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                // Valider les dépendances requises en fonction de la configuration
+                indicator.setText("Vérification des dépendances");
+                long dependenciesStart = System.nanoTime();
+                dependencyResult = ReadAction.nonBlocking(() -> dependencyValidationService.validateDependencies(
+                                project, findModule(project, moduleName), config))
+                        .inSmartMode(project)
+                        .wrapProgress(indicator)
+                        .expireWith(project)
+                        .executeSynchronously();
+                loggingService.logTiming(project, GenerationMetrics.PHASE_DEPENDENCIES,
+                        System.nanoTime() - dependenciesStart);
+
+                // Générer les différentes couches selon la configuration
+                indicator.setText("Génération du code");
+                indicator.checkCanceled();
+                loggingService.info(project, "Starting code generation for entity " + entityModel.getClassName());
+                generatedFiles = new ArrayList<>();
+                for (GeneratedFile file : apiGenerationService.generateFiles(project, entityModel, config)) {
+                    generatedFiles.add(file.withModuleName(moduleName));
+                }
             }
 
-            if (config.isGenerateMapper() && config.isGenerateDto()) {
-                loggingService.debug(project, "Generating Mapper");
-                CodeGenerator mapperGenerator = new MapperGenerator();
-                String mapperCode = mapperGenerator.generateCode(project, entityModel, config);
-                generatedFiles.add(new GeneratedFile(
-                        mapperGenerator.getGeneratedPackageName(entityModel, config),
-                        mapperGenerator.getGeneratedClassName(entityModel, config),
-                        mapperCode
-                ));
-                generatedTypes.add("Mapper");
-            }
+            @Override
+            public void onSuccess() {
+                if (dependencyResult.hasMissingDependencies()) {
+                    loggingService.warn(project, "Missing dependencies: " +
+                            String.join(", ", dependencyResult.getMissingDependencies()));
 
-            if (config.isGenerateRepository()) {
-                loggingService.debug(project, "Generating Repository");
-                CodeGenerator repositoryGenerator = new RepositoryGenerator();
-                String repositoryCode = repositoryGenerator.generateCode(project, entityModel, config);
-                generatedFiles.add(new GeneratedFile(
-                        repositoryGenerator.getGeneratedPackageName(entityModel, config),
-                        repositoryGenerator.getGeneratedClassName(entityModel, config),
-                        repositoryCode
-                ));
-                generatedTypes.add("Repository");
-            }
+                    if (!showDependencyWarningDialog(project, dependencyResult)) {
+                        // L'utilisateur a choisi de ne pas continuer
+                        loggingService.info(project, "User cancelled generation due to missing dependencies");
+                        return;
+                    }
+                }
 
-            if (config.isGenerateService()) {
-                loggingService.debug(project, "Generating Service");
-                CodeGenerator serviceGenerator = new ServiceGenerator();
-                String serviceCode = serviceGenerator.generateCode(project, entityModel, config);
-                generatedFiles.add(new GeneratedFile(
-                        serviceGenerator.getGeneratedPackageName(entityModel, config),
-                        serviceGenerator.getGeneratedClassName(entityModel, config),
-                        serviceCode
-                ));
-                generatedTypes.add("Service");
+                if (writeGeneratedFiles(project, entityModel, generatedFiles)) {
+                    updateAutoRegeneration(project, entityModel, moduleName, entityFilePath, config);
+                }
             }
 
-            if (config.isGenerateController()) {
-                loggingService.debug(project, "Generating Controller");
-                CodeGenerator controllerGenerator = new ControllerGenerator();
-                String controllerCode = controllerGenerator.generateCode(project, entityModel, config);
-                generatedFiles.add(new GeneratedFile(
-                        controllerGenerator.getGeneratedPackageName(entityModel, config),
-                        controllerGenerator.getGeneratedClassName(entityModel, config),
-                        controllerCode
-                ));
-                generatedTypes.add("Controller");
+            @Override
+            public void onThrowable(@NotNull Throwable error) {
+                showGenerationError(project, error);
             }
+        }.queue();
+    }
+
+    /**
+     * Retrouve le module de l'entité à partir de son nom.
+     */
+    private Module findModule(Project project, String moduleName) {
+        return moduleName != null ? ModuleManager.getInstance(project).findModuleByName(moduleName) : null;
+    }
+
+    /**
+     * Enregistre l'entité pour la régénération automatique si l'option est activée, ou l'en retire sinon.
+     */
+    private void updateAutoRegeneration(Project project, EntityModel entityModel, String moduleName,
+                                        String entityFilePath, ApiGeneratorConfig config) {
+        GenerationManifest manifest = GenerationManifest.getInstance(project);
+        if (config.isAutoRegenerate() && entityFilePath != null) {
+            manifest.recordEntity(entityModel.getQualifiedName(), entityFilePath, moduleName, config);
+            loggingService.info(project, "Auto-regeneration enabled for " + entityModel.getQualifiedName());
+        } else {
+            manifest.removeEntity(entityModel.getQualifiedName());
+        }
+    }
+
+    /**
+     * Écrit les fichiers générés et affiche le résultat. Doit être appelé sur l'EDT.
+     *
+     * @return true si tous les fichiers ont été écrits
+     */
+    private boolean writeGeneratedFiles(Project project, EntityModel entityModel, List<GeneratedFile> generatedFiles) {
+        try {
+            String[] generatedTypes = generatedFiles.stream()
+                    .map(GeneratedFile::getType)
+                    .toArray(String[]::new);
 
             // Créer les fichiers dans le projet
-            createFiles(project, generatedFiles);
+            WriteSummary summary = createFiles(project, generatedFiles);
 
             // Journaliser le résultat de la génération
-            loggingService.logGeneration(project, entityModel.getClassName(),
-                    generatedTypes.toArray(new String[0]), generatedFiles.size());
-
-            // Afficher un message de succès amélioré avec le nombre de fichiers créés
-            Message successMessage = errorMessageService.getGenerationSuccessMessage(generatedFiles.size());
+            loggingService.logGeneration(project, entityModel.getClassName(), generatedTypes, generatedFiles.size());
+            loggingService.logCount(project, GenerationMetrics.COUNTER_FILES_WRITTEN, summary.writtenCount);
+            loggingService.logCount(project, GenerationMetrics.COUNTER_FILES_UNCHANGED, summary.unchangedCount);
+            loggingService.logCount(project, GenerationMetrics.COUNTER_FILES_SKIPPED, summary.skippedCount);
+
+            // Afficher un message de succès avec le nombre de fichiers écrits et inchangés
+            Message successMessage = errorMessageService.getGenerationSuccessMessage(
+                    summary.writtenCount, summary.unchangedCount);
             Messages.showInfoMessage(project, successMessage.toFormattedString(), successMessage.getTitle());
+            return true;
 
         } catch (Exception e) {
-            // Journaliser l'erreur
-            loggingService.error(project, "Error during code generation: " + e.getMessage(), e);
-
-            // En cas d'erreur, afficher un message plus détaillé
-            Message errorMessage = errorMessageService.getFileWriteErrorMessage(
-                    e.getMessage(),
-                    e.getMessage().contains(".java") ? e.getMessage().substring(e.getMessage().lastIndexOf('/') + 1) : "inconnu");
-            Messages.showErrorDialog(project, errorMessage.toFormattedString(), errorMessage.getTitle());
+            loggingService.logCount(project, GenerationMetrics.COUNTER_GENERATION_FAILURES, 1);
+            showGenerationError(project, e);
+            return false;
         }
     }
 
+    /**
+     * Journalise une erreur de génération et affiche un message détaillé.
+     */
+    private void showGenerationError(Project project, Throwable e) {
+        // Journaliser l'erreur
+        loggingService.error(project, "Error during code generation: " + e.getMessage(), e);
+
+        // En cas d'erreur, afficher un message plus détaillé
+        String details = String.valueOf(e.getMessage());
+        Message errorMessage = errorMessageService.getFileWriteErrorMessage(
+                details,
+                details.contains(".java") ? details.substring(details.lastIndexOf('/') + 1) : "inconnu");
+        Messages.showErrorDialog(project, errorMessage.toFormattedString(), errorMessage.getTitle());
+    }
+
     /**
      * Crée les fichiers Java générés dans le projet.
      */
-    private void createFiles(Project project, List<GeneratedFile> files) {
-        WriteCommandAction.runWriteCommandAction(project, () -> {
+    private WriteSummary createFiles(Project project, List<GeneratedFile> files) {
+        // Résoudre les conflits avant l'écriture : les dialogues ne doivent pas être affichés dans une action d'écriture
+        WriteSummary summary = new WriteSummary();
+        List<GeneratedFile> filesToWrite = new ArrayList<>(files.size());
+        long conflictsStart = System.nanoTime();
+        try {
             for (GeneratedFile file : files) {
-                try {
-                    loggingService.debug(project, "Processing file " + file.className + ".java");
+                loggingService.debug(project, () -> "Processing file " + file.getClassName() + ".java");
 
-                    // Vérifier si le fichier existe déjà et déterminer l'action à prendre
-                    FileAction action = existingFileService.checkFileExists(
-                            project, file.packageName, file.className, FileAction.ASK);
+                // Vérifier si le fichier existe déjà et déterminer l'action à prendre
+                FileAction action = existingFileService.checkFileExists(
+                        project, file.getPackageName(), file.getClassName(), FileAction.ASK);
 
-                    // Si l'action est ASK, demander à l'utilisateur
-                    if (action == FileAction.ASK) {
-                        action = showFileExistsDialog(project, file.packageName, file.className);
-                    }
+                // Si l'action est ASK, demander à l'utilisateur
+                if (action == FileAction.ASK) {
+                    action = showFileExistsDialog(project, file.getPackageName(), file.getClassName());
+                }
 
-                    // Agir selon la décision
-                    switch (action) {
-                        case SKIP:
-                            loggingService.info(project, "Skipping file " + file.className + ".java (user choice)");
-                            continue; // Passer au fichier suivant
-
-                        case RENAME:
-                            String newName = existingFileService.generateAlternativeName(file.className);
-                            loggingService.info(project, "Renaming file to " + newName + ".java");
-                            file = new GeneratedFile(file.packageName, newName, file.content);
-                            break;
-
-                        case REPLACE:
-                            // Continuer avec le remplacement (comportement par défaut)
-                            loggingService.info(project, "Replacing existing file " + file.className + ".java");
-                            break;
-                    }
+                // Agir selon la décision
+                switch (action) {
+                    case SKIP:
+                        loggingService.info(project, "Skipping file " + file.getClassName() + ".java (user choice)");
+                        summary.skippedCount++;
+                        continue; // Passer au fichier suivant
+
+                    case RENAME:
+                        String newName = existingFileService.generateAlternativeName(file.getClassName());
+                        loggingService.info(project, "Renaming file to " + newName + ".java");
+                        file = file.withClassName(newName);
+                        break;
+
+                    case REPLACE:
+                        // Continuer avec le remplacement (comportement par défaut)
+                        loggingService.info(project, "Replacing existing file " + file.getClassName() + ".java");
+                        break;
+                }
+
+                filesToWrite.add(file);
+            }
+        } finally {
+            // Réinitialiser les choix utilisateur après la génération
+            existingFileService.resetUserChoices();
+        }
+        // La durée inclut le temps de réponse de l'utilisateur aux dialogues de conflit
+        loggingService.logTiming(project, GenerationMetrics.PHASE_CONFLICTS, System.nanoTime() - conflictsStart);
 
-                    // Ajouter une signature au contenu généré
-                    String contentWithSignature = ExistingFileServiceImpl.addGeneratedSignature(file.content);
-
-                    // Créer ou remplacer le fichier
-                    PsiFileFactory psiFileFactory = PsiFileFactory.getInstance(project);
-                    PsiJavaFile psiFile = (PsiJavaFile) psiFileFactory.createFileFromText(
-                            file.className + ".java",
-                            JavaFileType.INSTANCE,
-                            contentWithSignature
-                    );
-
-                    // Trouver ou créer le répertoire du package
-                    String packageName = file.packageName;
-                    PsiDirectory directory = createPackageDirectories(project, packageName);
-
-                    // Ajouter le fichier au répertoire
-                    try {
-                        // Vérifier si le fichier existe déjà
-                        PsiFile existingFile = directory.findFile(file.className + ".java");
-                        if (existingFile != null) {
-                            // Remplacer le fichier existant
-                            loggingService.info(project, "Deleting existing file before replacement: " + file.className + ".java");
-                            existingFile.delete();
-                        }
-
-                        directory.add(psiFile);
-                        loggingService.info(project, "File created successfully: " + file.className + ".java");
-                    } catch (Exception e) {
-                        loggingService.error(project, "Error creating file " + file.className + ".java: " + e.getMessage(), e);
-
-                        // Reformater l'exception en un message plus clair
-                        Message errorMessage = errorMessageService.getFileWriteErrorMessage(e.getMessage(), file.className + ".java");
-                        throw new RuntimeException(errorMessage.getTitle() + ": " + e.getMessage());
+        // Écrire tous les fichiers dans une seule commande d'écriture
+        long writeStart = System.nanoTime();
+        WriteCommandAction.runWriteCommandAction(project, () -> {
+            for (GeneratedFile file : filesToWrite) {
+                try {
+                    if (fileWriter.write(project, file) == WriteStatus.UNCHANGED) {
+                        summary.unchangedCount++;
+                    } else {
+                        summary.writtenCount++;
                     }
                 } catch (Exception e) {
-                    loggingService.error(project, "Unexpected error: " + e.getMessage(), e);
-                    throw e;
+                    loggingService.error(project, "Error creating file " + file.getClassName() + ".java: " + e.getMessage(), e);
+
+                    // Reformater l'exception en un message plus clair
+                    Message errorMessage = errorMessageService.getFileWriteErrorMessage(e.getMessage(), file.getClassName() + ".java");
+                    throw new RuntimeException(errorMessage.getTitle() + ": " + e.getMessage());
                 }
             }
-
-            // Réinitialiser les choix utilisateur après la génération
-            existingFileService.resetUserChoices();
         });
+        loggingService.logTiming(project, GenerationMetrics.PHASE_WRITE, System.nanoTime() - writeStart);
+        return summary;
     }
 
     /**
@@ -466,52 +597,14 @@ public class GenerateApiAction extends AnAction {
     }
 
     /**
-     * Crée récursivement les répertoires nécessaires pour un package.
+     * Détermine la classe à générer : la classe sous le curseur, ou à défaut la première entité du fichier.
      */
-    private PsiDirectory createPackageDirectories(Project project, String packageName) {
-        PsiDirectory baseDir = PsiManager.getInstance(project).findDirectory(
-                project.getBaseDir());
-        if (baseDir == null) {
-            throw new IllegalStateException("Impossible de trouver le répertoire de base du projet");
-        }
-
-        // Créer le répertoire "src/main/java" s'il n'existe pas
-        baseDir = findOrCreateDirectory(baseDir, "src");
-        baseDir = findOrCreateDirectory(baseDir, "main");
-        baseDir = findOrCreateDirectory(baseDir, "java");
-
-        // Créer les répertoires du package
-        String[] packageParts = packageName.split("\\.");
-        for (String part : packageParts) {
-            baseDir = findOrCreateDirectory(baseDir, part);
-        }
-
-        return baseDir;
-    }
-
-    /**
-     * Trouve ou crée un sous-répertoire.
-     */
-    private PsiDirectory findOrCreateDirectory(PsiDirectory parent, String name) {
-        PsiDirectory directory = parent.findSubdirectory(name);
-        if (directory == null) {
-            directory = parent.createSubdirectory(name);
-        }
-        return directory;
-    }
-
-    /**
-     * Vérifie si l'élément à la position donnée est potentiellement une entité JPA.
-     */
-    private boolean isPossiblyEntity(PsiFile psiFile, int offset) {
-        // Récupérer la classe sous le curseur
+    private PsiClass getTargetClass(PsiFile psiFile, int offset) {
         PsiClass psiClass = getPsiClassAtCursor(psiFile, offset);
-        if (psiClass == null) {
-            return false;
+        if (psiClass == null && psiFile instanceof PsiJavaFile) {
+            psiClass = PsiUtils.findFirstJpaEntity((PsiJavaFile) psiFile);
         }
-
-        // Vérification rapide : le nom contient "Entity" ou possède une annotation
-        return psiClass.getAnnotations().length > 0 || psiClass.getName().contains("Entity");
+        return psiClass;
     }
 
     /**
@@ -527,17 +620,36 @@ public class GenerateApiAction extends AnAction {
     }
 
     /**
-     * Classe interne pour stocker les informations sur les fichiers générés.
+     * Résultat de l'analyse d'une entité, calculé en arrière-plan puis consommé sur l'EDT.
      */
-    private static class GeneratedFile {
-        final String packageName;
+    private static class EntityAnalysis {
         final String className;
-        final String content;
-
-        GeneratedFile(String packageName, String className, String content) {
-            this.packageName = packageName;
+        final ValidationResult validationResult;
+        final EntityModel entityModel;
+        final ValidationResult modelValidationResult;
+        final String moduleName;
+        final String entityFilePath;
+        // Durées de la validation et de l'analyse, ou -1 si l'étape n'a pas été exécutée
+        long validateNanos = -1;
+        long analyzeNanos = -1;
+
+        EntityAnalysis(String className, ValidationResult validationResult, EntityModel entityModel,
+                       ValidationResult modelValidationResult, String moduleName, String entityFilePath) {
             this.className = className;
-            this.content = content;
+            this.validationResult = validationResult;
+            this.entityModel = entityModel;
+            this.modelValidationResult = modelValidationResult;
+            this.moduleName = moduleName;
+            this.entityFilePath = entityFilePath;
         }
     }
+
+    /**
+     * Bilan de l'écriture des fichiers générés.
+     */
+    private static class WriteSummary {
+        int writtenCount;
+        int unchangedCount;
+        int skippedCount;
+    }
 }
@@ -0,0 +1,333 @@
+package com.github.tky0065.apigenerator.action;
+
+import com.github.tky0065.apigenerator.config.ApiGeneratorConfig;
+import com.github.tky0065.apigenerator.index.JpaEntityIndex;
+import com.github.tky0065.apigenerator.model.EntityModel;
+import com.github.tky0065.apigenerator.service.ApiGenerationService;
+import com.github.tky0065.apigenerator.service.ApiGenerationService.BatchGenerationResult;
+import com.github.tky0065.apigenerator.service.DependencyValidationService;
+import com.github.tky0065.apigenerator.service.EntityAnalyzerService;
+import com.github.tky0065.apigenerator.service.EntityModelCache;
+import com.github.tky0065.apigenerator.service.ErrorMessageService;
+import com.github.tky0065.apigenerator.service.ErrorMessageService.Message;
+import com.github.tky0065.apigenerator.service.GenerationMetrics;
+import com.github.tky0065.apigenerator.service.LoggingService;
+import com.github.tky0065.apigenerator.service.impl.*;
+import com.github.tky0065.apigenerator.ui.ApiGeneratorDialog;
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.actionSystem.LangDataKeys;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.GlobalSearchScopesCore;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Action permettant de générer l'API de toutes les entités JPA d'une sélection
+ * (package, répertoire ou module) de la vue projet.
+ * La génération s'exécute en arrière-plan, en parallèle, avec une configuration commune.
+ */
+public class GenerateApiBatchAction extends AnAction {
+
+    private final EntityAnalyzerService entityAnalyzerService = new EntityAnalyzerServiceImpl();
+    private final DependencyValidationService dependencyValidationService = new DependencyValidationServiceImpl();
+    private final ErrorMessageService errorMessageService = new ErrorMessageServiceImpl();
+    private final LoggingService loggingService = new LoggingServiceImpl();
+    private final ApiGenerationService apiGenerationService = new ApiGenerationServiceImpl(
+            entityAnalyzerService, new ExistingFileServiceImpl(loggingService), loggingService);
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        // L'action est disponible dès qu'une sélection de fichiers ou un module est présent
+        VirtualFile[] files = e.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY);
+        Module module = e.getData(LangDataKeys.MODULE_CONTEXT);
+
+        boolean enabled = e.getProject() != null
+                && ((files != null && files.length > 0) || module != null);
+
+        e.getPresentation().setEnabledAndVisible(enabled);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        if (project == null) {
+            return;
+        }
+
+        List<VirtualFile> roots = getSelectedRoots(e);
+        loggingService.logAction(project, "GenerateApiBatch", "Starting batch API generation for " + roots.size() + " root(s)");
+
+        // Rechercher les entités de la sélection, puis analyser la première pour alimenter la prévisualisation
+        // du dialogue, sous une barre de progression annulable
+        EntitySearch search;
+        try {
+            search = ProgressManager.getInstance().runProcessWithProgressSynchronously(
+                    () -> searchEntities(project, roots), "Recherche des entités JPA", true, project);
+        } catch (ProcessCanceledException ex) {
+            loggingService.info(project, "User cancelled entity search");
+            return;
+        }
+
+        List<SmartPsiElementPointer<PsiClass>> entities = search.entities;
+        if (entities.isEmpty()) {
+            Messages.showInfoMessage(project, "Aucune entité JPA n'a été trouvée dans la sélection.", "Génération en lot");
+            return;
+        }
+
+        EntityModel sampleModel = search.sampleModel;
+        if (sampleModel == null) {
+            loggingService.warn(project, "Sample entity for batch generation is no longer valid");
+            return;
+        }
+
+        // Une seule configuration pour tout le lot ; sans package de base, chaque entité garde son propre package
+        ApiGeneratorConfig config = new ApiGeneratorConfig();
+        ApiGeneratorDialog dialog = new ApiGeneratorDialog(project, config, sampleModel);
+        dialog.setTitle("Génération d'API en lot (" + entities.size() + " entités)");
+        if (!dialog.showAndGet()) {
+            loggingService.info(project, "User cancelled batch generation from configuration dialog");
+            return;
+        }
+
+        // Valider les dépendances en arrière-plan, pour chacun des modules des entités du lot
+        new Task.Backgroundable(project, "Vérification des dépendances", true) {
+            private List<String> missingDependencies;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                long dependenciesStart = System.nanoTime();
+                missingDependencies = ReadAction.nonBlocking(() -> findMissingDependencies(project, entities, config))
+                        .inSmartMode(project)
+                        .wrapProgress(indicator)
+                        .expireWith(project)
+                        .executeSynchronously();
+                loggingService.logTiming(project, GenerationMetrics.PHASE_DEPENDENCIES,
+                        System.nanoTime() - dependenciesStart);
+            }
+
+            @Override
+            public void onSuccess() {
+                if (!missingDependencies.isEmpty()) {
+                    loggingService.warn(project, "Missing dependencies: " + String.join(", ", missingDependencies));
+
+                    Message dependencyMessage = errorMessageService.getMissingDependenciesMessage(
+                            missingDependencies,
+                            dependencyValidationService.generateMavenDependencySuggestions(missingDependencies),
+                            dependencyValidationService.generateGradleDependencySuggestions(missingDependencies));
+                    if (Messages.showYesNoDialog(project, dependencyMessage.toFormattedString(), dependencyMessage.getTitle(),
+                            "Continuer", "Annuler", Messages.getWarningIcon()) != Messages.YES) {
+                        loggingService.info(project, "User cancelled batch generation due to missing dependencies");
+                        return;
+                    }
+                }
+
+                generateBatch(project, entities, config);
+            }
+
+            @Override
+            public void onCancel() {
+                loggingService.info(project, "Dependency validation cancelled by user");
+            }
+        }.queue();
+    }
+
+    /**
+     * Recherche les entités de la sélection et analyse la première d'entre elles.
+     * Exécuté hors de l'EDT, sous la barre de progression de la recherche.
+     */
+    private EntitySearch searchEntities(Project project, List<VirtualFile> roots) {
+        List<SmartPsiElementPointer<PsiClass>> entities = ReadAction.compute(() -> findEntities(project, roots));
+        EntityModel sampleModel = entities.isEmpty() ? null : ReadAction.compute(() -> {
+            PsiClass psiClass = entities.get(0).getElement();
+            return psiClass != null ? EntityModelCache.getInstance(project).getEntityModel(psiClass) : null;
+        });
+        return new EntitySearch(entities, sampleModel);
+    }
+
+    /**
+     * Lance la génération du lot en arrière-plan.
+     */
+    private void generateBatch(Project project, List<SmartPsiElementPointer<PsiClass>> entities, ApiGeneratorConfig config) {
+        new Task.Backgroundable(project, "Génération d'API en lot", true) {
+            private BatchGenerationResult result;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                result = apiGenerationService.generateBatch(project, entities, config, indicator);
+            }
+
+            @Override
+            public void onSuccess() {
+                Message message = errorMessageService.getBatchGenerationMessage(
+                        result.getEntityCount(), result.getWrittenFileCount(), result.getSkippedFileCount(),
+                        result.getUnchangedFileCount(), result.getFailures(), result.getEntitiesPerSecond());
+                Messages.showInfoMessage(project, message.toFormattedString(), message.getTitle());
+            }
+
+            @Override
+            public void onCancel() {
+                loggingService.info(project, "Batch generation cancelled by user");
+            }
+
+            @Override
+            public void onThrowable(@NotNull Throwable error) {
+                loggingService.error(project, "Error during batch generation: " + error.getMessage(), error);
+                Message errorMessage = errorMessageService.getFileWriteErrorMessage(error.getMessage(), "inconnu");
+                Messages.showErrorDialog(project, errorMessage.toFormattedString(), errorMessage.getTitle());
+            }
+        }.queue();
+    }
+
+    /**
+     * Valide les dépendances dans le classpath de chaque module contenant une entité du lot.
+     * Doit être appelé dans une action de lecture, hors indexation.
+     *
+     * @return les dépendances manquantes dans au moins un module, sans doublon
+     */
+    private List<String> findMissingDependencies(Project project, List<SmartPsiElementPointer<PsiClass>> entities,
+                                                 ApiGeneratorConfig config) {
+        // Un module null (fichier hors module) correspond à la validation sur l'ensemble du projet
+        Set<Module> modules = new LinkedHashSet<>();
+        for (SmartPsiElementPointer<PsiClass> pointer : entities) {
+            VirtualFile file = pointer.getVirtualFile();
+            modules.add(file != null ? ModuleUtilCore.findModuleForFile(file, project) : null);
+        }
+
+        Set<String> missingDependencies = new LinkedHashSet<>();
+        for (Module module : modules) {
+            ProgressManager.checkCanceled();
+            missingDependencies.addAll(
+                    dependencyValidationService.validateDependencies(project, module, config).getMissingDependencies());
+        }
+        return new ArrayList<>(missingDependencies);
+    }
+
+    /**
+     * Détermine les racines à parcourir : fichiers et répertoires sélectionnés, ou sources du module.
+     */
+    private List<VirtualFile> getSelectedRoots(AnActionEvent e) {
+        VirtualFile[] files = e.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY);
+        if (files != null && files.length > 0) {
+            return Arrays.asList(files);
+        }
+
+        Module module = e.getData(LangDataKeys.MODULE_CONTEXT);
+        if (module != null) {
+            // Sources de production uniquement, les entités de test ne sont pas concernées
+            return Arrays.asList(ModuleRootManager.getInstance(module).getSourceRoots(false));
+        }
+
+        return new ArrayList<>();
+    }
+
+    /**
+     * Collecte les classes annotées avec @Entity dans les racines sélectionnées.
+     * Les entités sont lues dans l'index {@link JpaEntityIndex} ; pendant l'indexation, les fichiers sont parcourus.
+     * Doit être appelé dans une action de lecture.
+     */
+    private List<SmartPsiElementPointer<PsiClass>> findEntities(Project project, List<VirtualFile> roots) {
+        Set<PsiClass> entities = new LinkedHashSet<>();
+        if (DumbService.isDumb(project)) {
+            collectEntitiesFromFiles(project, roots, entities);
+        } else {
+            for (PsiClass psiClass : JpaEntityIndex.findEntityClasses(project, createScope(project, roots))) {
+                // L'index reconnaît l'annotation sans résolution : confirmer avec l'analyseur
+                if (entityAnalyzerService.isJpaEntity(psiClass)) {
+                    entities.add(psiClass);
+                }
+            }
+        }
+
+        SmartPointerManager pointerManager = SmartPointerManager.getInstance(project);
+        List<SmartPsiElementPointer<PsiClass>> pointers = new ArrayList<>(entities.size());
+        for (PsiClass entity : entities) {
+            pointers.add(pointerManager.createSmartPsiElementPointer(entity));
+        }
+        return pointers;
+    }
+
+    /**
+     * Portée couvrant les fichiers et répertoires sélectionnés, limitée aux sources du projet.
+     */
+    private GlobalSearchScope createScope(Project project, List<VirtualFile> roots) {
+        List<VirtualFile> directories = new ArrayList<>();
+        List<VirtualFile> files = new ArrayList<>();
+        for (VirtualFile root : roots) {
+            (root.isDirectory() ? directories : files).add(root);
+        }
+
+        GlobalSearchScope scope = GlobalSearchScope.filesScope(project, files);
+        if (!directories.isEmpty()) {
+            scope = scope.union(GlobalSearchScopesCore.directoriesScope(project, true, directories.toArray(VirtualFile[]::new)));
+        }
+        return scope.intersectWith(GlobalSearchScope.projectScope(project));
+    }
+
+    /**
+     * Parcourt les fichiers des racines sélectionnées à la recherche d'entités, sans utiliser les index.
+     */
+    private void collectEntitiesFromFiles(Project project, List<VirtualFile> roots, Set<PsiClass> entities) {
+        ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+        PsiManager psiManager = PsiManager.getInstance(project);
+
+        for (VirtualFile root : roots) {
+            VfsUtilCore.iterateChildrenRecursively(root, fileIndex::isInSourceContent, file -> {
+                ProgressManager.checkCanceled();
+                if (!file.isDirectory() && file.getFileType() == JavaFileType.INSTANCE) {
+                    PsiFile psiFile = psiManager.findFile(file);
+                    if (psiFile instanceof PsiJavaFile) {
+                        for (PsiClass psiClass : ((PsiJavaFile) psiFile).getClasses()) {
+                            if (entityAnalyzerService.isJpaEntity(psiClass)) {
+                                entities.add(psiClass);
+                            }
+                        }
+                    }
+                }
+                return true;
+            });
+        }
+    }
+
+    /**
+     * Résultat de la recherche des entités : les entités de la sélection et le modèle de la première,
+     * utilisé par la prévisualisation du dialogue (null si elle n'a pas pu être analysée).
+     */
+    private static class EntitySearch {
+        final List<SmartPsiElementPointer<PsiClass>> entities;
+        final EntityModel sampleModel;
+
+        EntitySearch(List<SmartPsiElementPointer<PsiClass>> entities, EntityModel sampleModel) {
+            this.entities = entities;
+            this.sampleModel = sampleModel;
+        }
+    }
+}
@@ -32,7 +32,62 @@ public class ApiGeneratorConfig {
     private String controllerPackage = "controller";
     private String mapperPackage = "mapper";
 
+    // Pagination de la liste (getAll / findAll)
+    private boolean paginateFindAll = true;
+    // Taille de page appliquée lorsque le client n'en précise pas
+    private int defaultPageSize = 20;
+    // Taille de page maximale acceptée par le Controller
+    private int maxPageSize = 100;
+    // Retourne un Slice (sans requête de comptage) plutôt qu'une Page
+    private boolean useSlice = false;
+    // Endpoint /cursor : pagination par curseur (keyset), au coût constant quelle que soit la profondeur
+    private boolean generateKeysetEndpoint = false;
+    // Champ de tri du curseur, en plus de la clé primaire ; vide pour trier sur la seule clé primaire
+    private String keysetSortField = "";
+
+    // Export en flux (endpoint /export), désactivé par défaut
+    private boolean generateExportEndpoint = false;
+    private ExportFormat exportFormat = ExportFormat.NDJSON;
+    // Nombre de lignes lues par aller-retour JDBC pendant l'export
+    private int exportFetchSize = 500;
+
+    // Endpoints /batch (création, mise à jour et suppression en lot), désactivés par défaut
+    private boolean generateBatchEndpoints = false;
+    // Nombre maximal d'éléments acceptés par requête
+    private int maxBatchSize = 10_000;
+    // Nombre d'entités écrites entre deux flush/clear du contexte de persistance (à aligner sur hibernate.jdbc.batch_size)
+    private int batchFlushSize = 50;
+
+    // Endpoint /by-ids : lecture de plusieurs entités en une requête, désactivé par défaut
+    private boolean generateByIdsEndpoint = false;
+    // Nombre maximal d'identifiants par requête (taille de la clause IN)
+    private int maxIdsPerRequest = 1000;
+
     // Options avancées
     private boolean useLombok = true;
     private boolean overwriteExistingFiles = false;
+    // Régénère les fichiers en arrière-plan lorsque l'entité est modifiée
+    private boolean autoRegenerate = false;
+
+    /**
+     * Format d'écriture de l'endpoint d'export.
+     */
+    public enum ExportFormat {
+        NDJSON,
+        CSV
+    }
+
+    /**
+     * @return la taille de page maximale, au moins 1
+     */
+    public int getEffectiveMaxPageSize() {
+        return Math.max(1, maxPageSize);
+    }
+
+    /**
+     * @return la taille de page par défaut, bornée entre 1 et la taille maximale
+     */
+    public int getEffectiveDefaultPageSize() {
+        return Math.max(1, Math.min(defaultPageSize, getEffectiveMaxPageSize()));
+    }
 }
@@ -0,0 +1,245 @@
+package com.github.tky0065.apigenerator.index;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.lang.java.lexer.JavaLexer;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.pom.java.LanguageLevel;
+import com.intellij.psi.JavaTokenType;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.impl.source.tree.ElementType;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index des entités JPA du projet : nom qualifié de chaque classe de premier niveau annotée
+ * avec {@code javax/jakarta.persistence.Entity}.
+ * L'index est calculé à partir des jetons du lexer Java, sans construire l'arbre PSI ni résoudre les références :
+ * l'annotation est reconnue par son nom qualifié ou par les imports du fichier. Les requêtes nécessitent le mode intelligent.
+ */
+public class JpaEntityIndex extends ScalarIndexExtension<String> {
+
+    public static final ID<String, Void> NAME = ID.create("com.github.tky0065.apigenerator.JpaEntityIndex");
+
+    private static final String[] PERSISTENCE_PACKAGES = {"javax.persistence", "jakarta.persistence"};
+
+    @Override
+    public @NotNull ID<String, Void> getName() {
+        return NAME;
+    }
+
+    @Override
+    public @NotNull DataIndexer<String, Void, FileContent> getIndexer() {
+        return inputData -> {
+            // Filtre textuel rapide : la plupart des fichiers Java ne mentionnent pas JPA
+            CharSequence text = inputData.getContentAsText();
+            if (!StringUtil.contains(text, "persistence")) {
+                return Collections.emptyMap();
+            }
+
+            Map<String, Void> entities = new HashMap<>();
+            for (String qualifiedName : findEntityNames(text)) {
+                entities.put(qualifiedName, null);
+            }
+            return entities;
+        };
+    }
+
+    @Override
+    public @NotNull KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @Override
+    public int getVersion() {
+        return 2;
+    }
+
+    @Override
+    public FileBasedIndex.@NotNull InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(JavaFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    /**
+     * Vérifie si un fichier déclare au moins une entité JPA.
+     * Doit être appelé dans une action de lecture, en mode intelligent.
+     *
+     * @param project le projet
+     * @param file le fichier
+     * @return true si le fichier contient une entité
+     */
+    public static boolean containsEntity(@NotNull Project project, @NotNull VirtualFile file) {
+        return !FileBasedIndex.getInstance().getFileData(NAME, file, project).isEmpty();
+    }
+
+    /**
+     * Retourne les classes d'entité déclarées dans une portée.
+     * Doit être appelé dans une action de lecture, en mode intelligent.
+     *
+     * @param project le projet
+     * @param scope la portée de recherche
+     * @return les classes d'entité, sans doublon
+     */
+    @NotNull
+    public static List<PsiClass> findEntityClasses(@NotNull Project project, @NotNull GlobalSearchScope scope) {
+        FileBasedIndex index = FileBasedIndex.getInstance();
+        List<String> names = new ArrayList<>();
+        index.processAllKeys(NAME, name -> {
+            names.add(name);
+            return true;
+        }, scope, null);
+
+        // Les clés peuvent inclure des entités supprimées : seules celles présentes dans un fichier de la portée comptent
+        PsiManager psiManager = PsiManager.getInstance(project);
+        Set<PsiClass> entities = new LinkedHashSet<>();
+        for (String name : names) {
+            ProgressManager.checkCanceled();
+            Collection<VirtualFile> files = index.getContainingFiles(NAME, name, scope);
+            for (VirtualFile file : files) {
+                PsiFile psiFile = psiManager.findFile(file);
+                if (psiFile instanceof PsiJavaFile) {
+                    for (PsiClass psiClass : ((PsiJavaFile) psiFile).getClasses()) {
+                        if (name.equals(psiClass.getQualifiedName())) {
+                            entities.add(psiClass);
+                        }
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(entities);
+    }
+
+    /**
+     * Parcourt les jetons d'un fichier Java et retourne les noms qualifiés des classes de premier niveau
+     * annotées avec {@code @Entity}. Les arguments des annotations et le corps des classes sont ignorés.
+     */
+    private static Set<String> findEntityNames(CharSequence text) {
+        JavaLexer lexer = new JavaLexer(LanguageLevel.HIGHEST);
+        lexer.start(text);
+        skipCommentsAndWhitespace(lexer);
+
+        Set<String> entities = new LinkedHashSet<>();
+        List<String> annotations = new ArrayList<>();
+        String packageName = "";
+        boolean entityImported = false;
+        int braceDepth = 0;
+        int parenDepth = 0;
+
+        while (lexer.getTokenType() != null) {
+            IElementType token = lexer.getTokenType();
+            if (token == JavaTokenType.LBRACE || token == JavaTokenType.RBRACE) {
+                braceDepth += token == JavaTokenType.LBRACE ? 1 : -1;
+                annotations.clear();
+            } else if (braceDepth == 0 && (token == JavaTokenType.LPARENTH || token == JavaTokenType.RPARENTH)) {
+                parenDepth += token == JavaTokenType.LPARENTH ? 1 : -1;
+            } else if (braceDepth == 0 && parenDepth == 0) {
+                if (token == JavaTokenType.PACKAGE_KEYWORD) {
+                    advance(lexer);
+                    packageName = readQualifiedName(lexer);
+                    continue;
+                }
+                if (token == JavaTokenType.IMPORT_KEYWORD) {
+                    advance(lexer);
+                    if (lexer.getTokenType() != JavaTokenType.STATIC_KEYWORD) {
+                        entityImported |= isEntityImport(readQualifiedName(lexer));
+                    }
+                    continue;
+                }
+                if (token == JavaTokenType.AT) {
+                    advance(lexer);
+                    annotations.add(readQualifiedName(lexer));
+                    continue;
+                }
+                if (token == JavaTokenType.CLASS_KEYWORD) {
+                    advance(lexer);
+                    if (lexer.getTokenType() == JavaTokenType.IDENTIFIER
+                            && isEntityAnnotated(annotations, entityImported)) {
+                        String className = tokenText(lexer);
+                        entities.add(packageName.isEmpty() ? className : packageName + "." + className);
+                    }
+                    annotations.clear();
+                    continue;
+                }
+                if (token == JavaTokenType.SEMICOLON) {
+                    annotations.clear();
+                }
+            }
+            advance(lexer);
+        }
+        return entities;
+    }
+
+    /**
+     * Lit un nom éventuellement qualifié (ou un import à la demande) et place le lexer sur le jeton suivant.
+     */
+    private static String readQualifiedName(JavaLexer lexer) {
+        StringBuilder name = new StringBuilder();
+        while (lexer.getTokenType() == JavaTokenType.IDENTIFIER || lexer.getTokenType() == JavaTokenType.ASTERISK) {
+            name.append(tokenText(lexer));
+            advance(lexer);
+            if (lexer.getTokenType() != JavaTokenType.DOT) {
+                break;
+            }
+            name.append('.');
+            advance(lexer);
+        }
+        return name.toString();
+    }
+
+    private static boolean isEntityImport(String importedName) {
+        for (String persistencePackage : PERSISTENCE_PACKAGES) {
+            if (importedName.equals(persistencePackage + ".Entity") || importedName.equals(persistencePackage + ".*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isEntityAnnotated(List<String> annotations, boolean entityImported) {
+        for (String annotation : annotations) {
+            if (annotation.equals("Entity") ? entityImported : isEntityImport(annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String tokenText(JavaLexer lexer) {
+        return lexer.getBufferSequence().subSequence(lexer.getTokenStart(), lexer.getTokenEnd()).toString();
+    }
+
+    private static void advance(JavaLexer lexer) {
+        lexer.advance();
+        skipCommentsAndWhitespace(lexer);
+    }
+
+    private static void skipCommentsAndWhitespace(JavaLexer lexer) {
+        while (lexer.getTokenType() != null
+                && ElementType.JAVA_COMMENT_OR_WHITESPACE_BIT_SET.contains(lexer.getTokenType())) {
+            lexer.advance();
+        }
+    }
+}
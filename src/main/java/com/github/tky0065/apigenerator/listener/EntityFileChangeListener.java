@@ -0,0 +1,67 @@
+package com.github.tky0065.apigenerator.listener;
+
+import com.github.tky0065.apigenerator.service.AutoRegenerationService;
+import com.github.tky0065.apigenerator.service.GenerationManifest;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileContentChangeEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileDeleteEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileMoveEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Détecte l'enregistrement des fichiers d'entités dont la régénération automatique est activée
+ * et confie leur régénération à {@link AutoRegenerationService}.
+ * Seuls les contenus enregistrés sont pris en compte, pour ne pas générer à partir d'une saisie en cours.
+ * Tient aussi le manifeste à jour lorsque des fichiers sont supprimés, déplacés ou renommés.
+ */
+public class EntityFileChangeListener implements BulkFileListener {
+
+    private final Project project;
+
+    public EntityFileChangeListener(Project project) {
+        this.project = project;
+    }
+
+    @Override
+    public void after(@NotNull List<? extends VFileEvent> events) {
+        if (project.isDisposed()) {
+            return;
+        }
+
+        // Appelé dans l'action d'écriture : se limiter à une recherche dans le manifeste
+        GenerationManifest manifest = GenerationManifest.getInstance(project);
+        for (VFileEvent event : events) {
+            if (event instanceof VFileDeleteEvent) {
+                manifest.removeFiles(event.getPath());
+            } else if (event instanceof VFileMoveEvent) {
+                VFileMoveEvent moveEvent = (VFileMoveEvent) event;
+                manifest.updatePaths(moveEvent.getOldPath(), moveEvent.getNewPath());
+            } else if (event instanceof VFilePropertyChangeEvent && ((VFilePropertyChangeEvent) event).isRename()) {
+                VFilePropertyChangeEvent renameEvent = (VFilePropertyChangeEvent) event;
+                manifest.updatePaths(renameEvent.getOldPath(), renameEvent.getNewPath());
+            }
+        }
+
+        if (!manifest.hasAutoRegeneratedEntities()) {
+            return;
+        }
+
+        Set<String> changedEntities = new LinkedHashSet<>();
+        for (VFileEvent event : events) {
+            if (event instanceof VFileContentChangeEvent) {
+                changedEntities.addAll(manifest.getEntitiesInFile(event.getPath()));
+            }
+        }
+
+        if (!changedEntities.isEmpty()) {
+            AutoRegenerationService.getInstance(project).scheduleRegeneration(changedEntities);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.github.tky0065.apigenerator.model;
 import lombok.Builder;
 import lombok.Data;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -10,20 +11,49 @@ import java.util.List;
  * Cette classe sert de modèle pour la génération de code.
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class EntityModel {
     private String className;
     private String packageName;
     private String qualifiedName;
+    // Nom de l'entité dans les requêtes JPQL : @Entity(name = ...), sinon le nom simple de la classe
+    private String entityName;
     private String tableName;
     private List<EntityField> fields;
     private EntityField idField;
+    // Package JPA de l'entité (javax.persistence ou jakarta.persistence), repris par le code généré
+    private String persistencePackage;
+
+    /**
+     * Retourne une copie profonde du modèle : les champs sont eux aussi copiés,
+     * et le champ @Id de la copie est l'un des champs copiés.
+     *
+     * @return la copie, modifiable sans affecter le modèle d'origine
+     */
+    public EntityModel copy() {
+        List<EntityField> copiedFields = null;
+        EntityField copiedIdField = idField != null ? idField.toBuilder().build() : null;
+        if (fields != null) {
+            copiedFields = new ArrayList<>(fields.size());
+            for (EntityField field : fields) {
+                if (field == idField) {
+                    copiedFields.add(copiedIdField);
+                } else {
+                    copiedFields.add(field.toBuilder().build());
+                }
+            }
+        }
+        return toBuilder()
+                .fields(copiedFields)
+                .idField(copiedIdField)
+                .build();
+    }
 
     /**
      * Représente un champ d'une entité JPA.
      */
     @Data
-    @Builder
+    @Builder(toBuilder = true)
     public static class EntityField {
         private String name;
         private String type;
@@ -0,0 +1,19 @@
+package com.github.tky0065.apigenerator.model;
+
+import lombok.Value;
+import lombok.With;
+
+/**
+ * Représente un fichier source produit par un générateur, prêt à être écrit dans le projet.
+ * Les instances sont immuables afin de pouvoir circuler librement entre les threads de génération.
+ */
+@Value
+public class GeneratedFile {
+    String type;          // DTO, Mapper, Repository, Service, Controller
+    String packageName;
+    @With
+    String className;
+    String content;
+    @With
+    String moduleName;    // Module de l'entité, dans lequel le fichier est écrit (null si inconnu)
+}
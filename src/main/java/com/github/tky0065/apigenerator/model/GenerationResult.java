@@ -0,0 +1,32 @@
+package com.github.tky0065.apigenerator.model;
+
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Résultat immuable de la génération de toutes les couches d'une entité.
+ * Les fichiers sont rangés dans l'ordre d'enregistrement des générateurs, quel que soit l'ordre d'exécution.
+ */
+@Value
+public class GenerationResult {
+    List<GeneratedFile> files;
+    long elapsedNanos;
+    // Durée de chaque générateur, par type de fichier
+    Map<String, Long> generatorNanos;
+
+    public GenerationResult(List<GeneratedFile> files, long elapsedNanos, Map<String, Long> generatorNanos) {
+        this.files = List.copyOf(files);
+        this.elapsedNanos = elapsedNanos;
+        this.generatorNanos = Map.copyOf(generatorNanos);
+    }
+
+    /**
+     * Retourne le fichier généré pour un type donné (DTO, Mapper, Repository, Service, Controller).
+     */
+    public Optional<GeneratedFile> getFile(String type) {
+        return files.stream().filter(file -> file.getType().equals(type)).findFirst();
+    }
+}
@@ -0,0 +1,110 @@
+package com.github.tky0065.apigenerator.service;
+
+import com.github.tky0065.apigenerator.config.ApiGeneratorConfig;
+import com.github.tky0065.apigenerator.model.EntityModel;
+import com.github.tky0065.apigenerator.model.GeneratedFile;
+import com.github.tky0065.apigenerator.model.GenerationResult;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.SmartPsiElementPointer;
+
+import java.util.List;
+
+/**
+ * Service orchestrant la génération des différentes couches d'API.
+ * Utilisé aussi bien pour une entité unique que pour la génération en lot.
+ */
+public interface ApiGenerationService {
+
+    /**
+     * Résultat d'une génération en lot.
+     */
+    class BatchGenerationResult {
+        private final int entityCount;
+        private final int writtenFileCount;
+        private final int skippedFileCount;
+        private final int unchangedFileCount;
+        private final List<String> failures;
+        private final long elapsedNanos;
+
+        public BatchGenerationResult(int entityCount, int writtenFileCount, int skippedFileCount,
+                                     int unchangedFileCount, List<String> failures, long elapsedNanos) {
+            this.entityCount = entityCount;
+            this.writtenFileCount = writtenFileCount;
+            this.skippedFileCount = skippedFileCount;
+            this.unchangedFileCount = unchangedFileCount;
+            this.failures = failures;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getEntityCount() {
+            return entityCount;
+        }
+
+        public int getWrittenFileCount() {
+            return writtenFileCount;
+        }
+
+        public int getSkippedFileCount() {
+            return skippedFileCount;
+        }
+
+        public int getUnchangedFileCount() {
+            return unchangedFileCount;
+        }
+
+        public List<String> getFailures() {
+            return failures;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public boolean hasFailures() {
+            return failures != null && !failures.isEmpty();
+        }
+
+        /**
+         * @return le débit de la génération en entités par seconde
+         */
+        public double getEntitiesPerSecond() {
+            return elapsedNanos > 0 ? entityCount * 1_000_000_000d / elapsedNanos : 0;
+        }
+    }
+
+    /**
+     * Génère le code de toutes les couches activées dans la configuration pour une entité.
+     *
+     * @param project le projet IntelliJ courant
+     * @param entityModel le modèle de l'entité analysée
+     * @param config la configuration du générateur
+     * @return les fichiers générés, dans l'ordre de génération
+     */
+    List<GeneratedFile> generateFiles(Project project, EntityModel entityModel, ApiGeneratorConfig config);
+
+    /**
+     * Génère le code de toutes les couches activées, les couches indépendantes étant générées en parallèle.
+     * Doit être appelé depuis un thread d'arrière-plan.
+     *
+     * @param project le projet IntelliJ courant
+     * @param entityModel le modèle de l'entité analysée
+     * @param config la configuration du générateur
+     * @return le résultat immuable de la génération
+     */
+    GenerationResult generate(Project project, EntityModel entityModel, ApiGeneratorConfig config);
+
+    /**
+     * Génère et écrit l'API de plusieurs entités en parallèle, avec une configuration commune.
+     * Doit être appelé depuis un thread d'arrière-plan.
+     *
+     * @param project le projet IntelliJ courant
+     * @param entities les entités à traiter
+     * @param config la configuration partagée par toute la génération
+     * @param indicator l'indicateur de progression (permet l'annulation)
+     * @return le résultat de la génération en lot
+     */
+    BatchGenerationResult generateBatch(Project project, List<SmartPsiElementPointer<PsiClass>> entities,
+                                        ApiGeneratorConfig config, ProgressIndicator indicator);
+}
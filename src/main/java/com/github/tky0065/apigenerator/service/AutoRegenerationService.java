@@ -0,0 +1,161 @@
+package com.github.tky0065.apigenerator.service;
+
+import com.github.tky0065.apigenerator.config.ApiGeneratorConfig;
+import com.github.tky0065.apigenerator.service.ApiGenerationService.BatchGenerationResult;
+import com.github.tky0065.apigenerator.service.GenerationManifest.EntityEntry;
+import com.github.tky0065.apigenerator.service.impl.ApiGenerationServiceImpl;
+import com.github.tky0065.apigenerator.service.impl.EntityAnalyzerServiceImpl;
+import com.github.tky0065.apigenerator.service.impl.ExistingFileServiceImpl;
+import com.github.tky0065.apigenerator.service.impl.LoggingServiceImpl;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.SmartPointerManager;
+import com.intellij.psi.SmartPsiElementPointer;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.Alarm;
+import com.intellij.util.xmlb.XmlSerializerUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Régénère en arrière-plan l'API des entités dont la régénération automatique est activée.
+ * Les modifications sont regroupées : une rafale d'enregistrements ne déclenche qu'une régénération,
+ * une fois le délai écoulé sans nouvelle modification. Les fichiers modifiés manuellement ne sont
+ * jamais remplacés et seuls les fichiers dont le contenu change sont écrits.
+ */
+@Service(Service.Level.PROJECT)
+public final class AutoRegenerationService implements Disposable {
+
+    // Délai sans modification avant de lancer la régénération
+    private static final int DEBOUNCE_DELAY_MS = 1500;
+
+    private final Project project;
+    private final Set<String> pendingEntities = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Alarm alarm = new Alarm(Alarm.ThreadToUse.POOLED_THREAD, this);
+    private final LoggingService loggingService = new LoggingServiceImpl();
+    private final ApiGenerationService apiGenerationService;
+
+    public AutoRegenerationService(Project project) {
+        this.project = project;
+        this.apiGenerationService = new ApiGenerationServiceImpl(
+                new EntityAnalyzerServiceImpl(), new ExistingFileServiceImpl(loggingService), loggingService);
+    }
+
+    public static AutoRegenerationService getInstance(Project project) {
+        return project.getService(AutoRegenerationService.class);
+    }
+
+    /**
+     * Planifie la régénération d'entités ; chaque nouvel appel repousse le délai.
+     *
+     * @param entityNames les noms qualifiés des entités modifiées
+     */
+    public void scheduleRegeneration(@NotNull Collection<String> entityNames) {
+        if (entityNames.isEmpty()) {
+            return;
+        }
+        pendingEntities.addAll(entityNames);
+        reschedule();
+    }
+
+    private void reschedule() {
+        if (!alarm.isDisposed()) {
+            alarm.cancelAllRequests();
+            alarm.addRequest(this::startRegeneration, DEBOUNCE_DELAY_MS);
+        }
+    }
+
+    private void startRegeneration() {
+        if (project.isDisposed() || pendingEntities.isEmpty()) {
+            return;
+        }
+
+        // Une seule régénération à la fois : les modifications arrivées entre-temps attendent la suivante
+        if (!running.compareAndSet(false, true)) {
+            reschedule();
+            return;
+        }
+
+        List<String> entityNames = new ArrayList<>(pendingEntities);
+        pendingEntities.removeAll(entityNames);
+
+        new Task.Backgroundable(project, "Régénération automatique de l'API", true) {
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                regenerate(entityNames, indicator);
+            }
+
+            @Override
+            public void onThrowable(@NotNull Throwable error) {
+                loggingService.error(project, "Error during automatic regeneration: " + error.getMessage(), error);
+            }
+
+            @Override
+            public void onFinished() {
+                running.set(false);
+            }
+        }.queue();
+    }
+
+    /**
+     * Régénère les entités, regroupées par configuration pour profiter de la génération en lot.
+     */
+    private void regenerate(List<String> entityNames, ProgressIndicator indicator) {
+        GenerationManifest manifest = GenerationManifest.getInstance(project);
+        Map<ApiGeneratorConfig, List<SmartPsiElementPointer<PsiClass>>> entitiesByConfig = ReadAction.nonBlocking(() -> {
+                    Map<ApiGeneratorConfig, List<SmartPsiElementPointer<PsiClass>>> result = new LinkedHashMap<>();
+                    JavaPsiFacade javaPsiFacade = JavaPsiFacade.getInstance(project);
+                    SmartPointerManager pointerManager = SmartPointerManager.getInstance(project);
+
+                    for (String entityName : entityNames) {
+                        EntityEntry entry = manifest.getEntity(entityName);
+                        PsiClass psiClass = entry != null && entry.config != null
+                                ? javaPsiFacade.findClass(entityName, GlobalSearchScope.projectScope(project))
+                                : null;
+                        if (psiClass == null) {
+                            continue;
+                        }
+
+                        // Ne jamais remplacer un fichier modifié manuellement
+                        ApiGeneratorConfig config = XmlSerializerUtil.createCopy(entry.config);
+                        config.setOverwriteExistingFiles(false);
+                        config.setAutoRegenerate(true);
+                        result.computeIfAbsent(config, ignored -> new ArrayList<>())
+                                .add(pointerManager.createSmartPsiElementPointer(psiClass));
+                    }
+                    return result;
+                })
+                .inSmartMode(project)
+                .wrapProgress(indicator)
+                .expireWith(this)
+                .executeSynchronously();
+
+        for (Map.Entry<ApiGeneratorConfig, List<SmartPsiElementPointer<PsiClass>>> group : entitiesByConfig.entrySet()) {
+            BatchGenerationResult result = apiGenerationService.generateBatch(
+                    project, group.getValue(), group.getKey(), indicator);
+            loggingService.info(project, "Auto-regenerated " + result.getEntityCount() + " entity(ies): "
+                    + result.getWrittenFileCount() + " file(s) written, " + result.getUnchangedFileCount()
+                    + " unchanged, " + result.getSkippedFileCount() + " manually modified file(s) left untouched");
+        }
+    }
+
+    @Override
+    public void dispose() {
+        pendingEntities.clear();
+    }
+}
@@ -1,6 +1,7 @@
 package com.github.tky0065.apigenerator.service;
 
 import com.github.tky0065.apigenerator.config.ApiGeneratorConfig;
+import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.Project;
 
 import java.util.List;
@@ -52,6 +53,17 @@ public interface DependencyValidationService {
      */
     DependencyValidationResult validateDependencies(Project project, ApiGeneratorConfig config);
 
+    /**
+     * Valide les dépendances requises dans le classpath d'un module.
+     * Le statut de chaque fonctionnalité est mis en cache jusqu'au prochain changement des racines du projet.
+     *
+     * @param project Le projet à valider
+     * @param module Le module cible, ou null pour l'ensemble du projet
+     * @param config La configuration de génération utilisée
+     * @return Le résultat de la validation des dépendances
+     */
+    DependencyValidationResult validateDependencies(Project project, Module module, ApiGeneratorConfig config);
+
     /**
      * Vérifie si une classe spécifique est disponible dans le classpath du projet.
      *
@@ -1,6 +1,7 @@
 package com.github.tky0065.apigenerator.service;
 
 import com.github.tky0065.apigenerator.model.EntityModel;
+import com.github.tky0065.apigenerator.util.TypeResolutionCache;
 import com.intellij.psi.PsiClass;
 
 /**
@@ -25,5 +26,17 @@ public interface EntityAnalyzerService {
      * @return le modèle de l'entité avec ses champs et propriétés
      * @throws IllegalArgumentException si la classe n'est pas une entité JPA
      */
-    EntityModel analyzeEntity(PsiClass psiClass);
+    default EntityModel analyzeEntity(PsiClass psiClass) {
+        return analyzeEntity(psiClass, new TypeResolutionCache());
+    }
+
+    /**
+     * Analyse une classe PSI en réutilisant les types déjà résolus pendant la session de génération.
+     *
+     * @param psiClass la classe PSI à analyser (doit être une entité JPA)
+     * @param typeCache le cache de résolution des types de la session
+     * @return le modèle de l'entité avec ses champs et propriétés
+     * @throws IllegalArgumentException si la classe n'est pas une entité JPA
+     */
+    EntityModel analyzeEntity(PsiClass psiClass, TypeResolutionCache typeCache);
 }
@@ -0,0 +1,104 @@
+package com.github.tky0065.apigenerator.service;
+
+import com.github.tky0065.apigenerator.model.EntityModel;
+import com.github.tky0065.apigenerator.service.impl.EntityAnalyzerServiceImpl;
+import com.github.tky0065.apigenerator.util.TypeResolutionCache;
+import com.intellij.lang.java.JavaLanguage;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootModificationTracker;
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache de niveau projet des modèles d'entités analysés.
+ * Le modèle est attaché à la {@link PsiClass} et invalidé dès qu'une modification de la structure Java
+ * du projet (hors corps de méthodes) survient, ou que la configuration des racines change : une entité,
+ * une super-classe ou un type référencé par un champ (renommé, déplacé, devenu enum...) peut en changer l'analyse.
+ * Le modèle n'est analysé qu'une fois ; chaque appelant en reçoit une copie qu'il peut modifier librement.
+ */
+@Service(Service.Level.PROJECT)
+public final class EntityModelCache {
+
+    private static final Key<CachedValue<EntityModel>> ENTITY_MODEL_KEY = Key.create("apigenerator.entityModel");
+
+    private final Project project;
+    private final EntityAnalyzerService entityAnalyzerService = new EntityAnalyzerServiceImpl();
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public EntityModelCache(Project project) {
+        this.project = project;
+    }
+
+    public static EntityModelCache getInstance(Project project) {
+        return project.getService(EntityModelCache.class);
+    }
+
+    /**
+     * Retourne une copie du modèle de l'entité, en ne l'analysant que si la structure Java du projet a changé.
+     * Doit être appelé dans une action de lecture.
+     *
+     * @param psiClass la classe PSI de l'entité (doit être une entité JPA)
+     * @return le modèle de l'entité
+     * @throws IllegalArgumentException si la classe n'est pas une entité JPA
+     */
+    public EntityModel getEntityModel(PsiClass psiClass) {
+        return getEntityModel(psiClass, new TypeResolutionCache());
+    }
+
+    /**
+     * Retourne une copie du modèle de l'entité ; si elle doit être analysée, les types déjà résolus pendant
+     * la session de génération sont réutilisés.
+     * Doit être appelé dans une action de lecture.
+     *
+     * @param psiClass la classe PSI de l'entité (doit être une entité JPA)
+     * @param typeCache le cache de résolution des types de la session
+     * @return le modèle de l'entité
+     * @throws IllegalArgumentException si la classe n'est pas une entité JPA
+     */
+    public EntityModel getEntityModel(PsiClass psiClass, TypeResolutionCache typeCache) {
+        requestCount.increment();
+        EntityModel cached = CachedValuesManager.getManager(project).getCachedValue(psiClass, ENTITY_MODEL_KEY, () -> {
+            missCount.increment();
+            EntityModel entityModel = entityAnalyzerService.analyzeEntity(psiClass, typeCache);
+            return CachedValueProvider.Result.create(entityModel, getDependencies(project));
+        }, false);
+        // Le modèle en cache est partagé entre les threads : il n'est jamais exposé directement
+        return cached.copy();
+    }
+
+    /**
+     * @return le nombre de modèles servis depuis le cache
+     */
+    public long getHitCount() {
+        return requestCount.sum() - missCount.sum();
+    }
+
+    /**
+     * @return le nombre de modèles recalculés
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Dépendances d'un modèle analysé : structure Java du projet et racines (bibliothèques).
+     *
+     * @param project le projet
+     * @return les dépendances à passer à {@link CachedValueProvider.Result}
+     */
+    public static Object[] getDependencies(Project project) {
+        return new Object[]{
+                PsiModificationTracker.getInstance(project).forLanguage(JavaLanguage.INSTANCE),
+                // Les types des champs (enum, collections) dépendent aussi des bibliothèques du projet
+                ProjectRootModificationTracker.getInstance(project)
+        };
+    }
+}
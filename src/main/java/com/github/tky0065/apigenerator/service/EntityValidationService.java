@@ -1,6 +1,7 @@
 package com.github.tky0065.apigenerator.service;
 
 import com.github.tky0065.apigenerator.model.EntityModel;
+import com.github.tky0065.apigenerator.util.TypeResolutionCache;
 import com.intellij.psi.PsiClass;
 
 import java.util.List;
@@ -52,7 +53,18 @@ public interface EntityValidationService {
      * @param psiClass La classe à valider
      * @return Le résultat de la validation
      */
-    ValidationResult validateEntity(PsiClass psiClass);
+    default ValidationResult validateEntity(PsiClass psiClass) {
+        return validateEntity(psiClass, new TypeResolutionCache());
+    }
+
+    /**
+     * Valide une classe d'entité JPA en réutilisant les types déjà résolus pendant la session de génération.
+     *
+     * @param psiClass La classe à valider
+     * @param typeCache Le cache de résolution des types de la session
+     * @return Le résultat de la validation
+     */
+    ValidationResult validateEntity(PsiClass psiClass, TypeResolutionCache typeCache);
 
     /**
      * Valide un modèle d'entité.
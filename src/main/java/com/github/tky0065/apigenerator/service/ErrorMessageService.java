@@ -128,4 +128,27 @@ public interface ErrorMessageService {
      * @return Un message d'information formaté
      */
     Message getGenerationSuccessMessage(int generatedCount);
+
+    /**
+     * Obtient un message de succès distinguant les fichiers écrits des fichiers inchangés.
+     *
+     * @param writtenCount Nombre de fichiers créés ou modifiés
+     * @param unchangedCount Nombre de fichiers identiques non réécrits
+     * @return Un message d'information formaté
+     */
+    Message getGenerationSuccessMessage(int writtenCount, int unchangedCount);
+
+    /**
+     * Obtient un message de synthèse pour une génération en lot.
+     *
+     * @param entityCount Nombre d'entités traitées
+     * @param writtenCount Nombre de fichiers écrits
+     * @param skippedCount Nombre de fichiers ignorés (modifiés manuellement)
+     * @param unchangedCount Nombre de fichiers identiques non réécrits
+     * @param failures Liste des entités en échec
+     * @param entitiesPerSecond Débit de la génération
+     * @return Un message formaté
+     */
+    Message getBatchGenerationMessage(int entityCount, int writtenCount, int skippedCount, int unchangedCount,
+                                      List<String> failures, double entitiesPerSecond);
 }
@@ -0,0 +1,316 @@
+package com.github.tky0065.apigenerator.service;
+
+import com.github.tky0065.apigenerator.config.ApiGeneratorConfig;
+import com.github.tky0065.apigenerator.util.ContentHashUtils;
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import com.intellij.openapi.components.StoragePathMacros;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.xmlb.XmlSerializerUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Manifeste des fichiers générés par le plugin pour un projet.
+ * Pour chaque fichier écrit, il enregistre l'empreinte du contenu ainsi que la date et la taille
+ * connues du VFS. Tant que ces dernières n'ont pas changé, le fichier est considéré comme intact
+ * sans relire son contenu ; sinon, l'empreinte du contenu actuel est comparée à celle enregistrée.
+ * Il conserve aussi, pour les entités dont la régénération automatique est activée, le fichier source
+ * de l'entité et la configuration utilisée lors de la dernière génération.
+ */
+@Service(Service.Level.PROJECT)
+@State(name = "ApiGeneratorManifest", storages = @Storage(StoragePathMacros.WORKSPACE_FILE))
+public final class GenerationManifest implements PersistentStateComponent<GenerationManifest.State> {
+
+    /**
+     * Informations enregistrées pour un fichier généré.
+     * Une entrée n'est jamais modifiée après son ajout au manifeste : elle est remplacée.
+     */
+    public static class ManifestEntry {
+        public String hash;
+        public long timeStamp;
+        public long length;
+
+        public ManifestEntry() {
+        }
+
+        public ManifestEntry(String hash, long timeStamp, long length) {
+            this.hash = hash;
+            this.timeStamp = timeStamp;
+            this.length = length;
+        }
+    }
+
+    /**
+     * Entité régénérée automatiquement lorsque son fichier source change.
+     * Comme les entrées de fichiers, elle est remplacée plutôt que modifiée.
+     */
+    public static class EntityEntry {
+        public String filePath;
+        public String moduleName;
+        public ApiGeneratorConfig config;
+
+        public EntityEntry() {
+        }
+
+        public EntityEntry(String filePath, String moduleName, ApiGeneratorConfig config) {
+            this.filePath = filePath;
+            this.moduleName = moduleName;
+            this.config = config;
+        }
+    }
+
+    /**
+     * État persisté du manifeste : chemin du fichier → informations de génération,
+     * et nom qualifié de l'entité → configuration de régénération automatique.
+     */
+    public static class State {
+        public Map<String, ManifestEntry> files = new LinkedHashMap<>();
+        public Map<String, EntityEntry> entities = new LinkedHashMap<>();
+    }
+
+    private State state = new State();
+
+    // Index non persisté : chemin du fichier source → entités qu'il déclare, pour les événements VFS
+    private final Map<String, Set<String>> entitiesByPath = new HashMap<>();
+
+    public static GenerationManifest getInstance(Project project) {
+        return project.getService(GenerationManifest.class);
+    }
+
+    /**
+     * Retourne une copie de l'état : la plateforme le sérialise hors du verrou, pendant que
+     * les générations en cours continuent de mettre à jour le manifeste.
+     */
+    @Override
+    public synchronized @NotNull State getState() {
+        State copy = new State();
+        copy.files.putAll(state.files);
+        copy.entities.putAll(state.entities);
+        return copy;
+    }
+
+    @Override
+    public synchronized void loadState(@NotNull State state) {
+        this.state = state;
+        entitiesByPath.clear();
+        state.entities.forEach((name, entry) -> indexEntity(name, entry.filePath));
+    }
+
+    /**
+     * Enregistre le contenu d'un fichier qui vient d'être écrit par le générateur.
+     *
+     * @param file le fichier écrit
+     * @param content le contenu tel qu'écrit sur le disque
+     */
+    public void record(@NotNull VirtualFile file, @NotNull byte[] content) {
+        recordHash(file, ContentHashUtils.hash(content));
+    }
+
+    /**
+     * Enregistre l'empreinte, déjà calculée, du contenu d'un fichier qui vient d'être écrit par le générateur.
+     *
+     * @param file le fichier écrit
+     * @param hash l'empreinte du contenu tel qu'écrit sur le disque
+     */
+    public synchronized void recordHash(@NotNull VirtualFile file, @NotNull String hash) {
+        state.files.put(file.getPath(), new ManifestEntry(hash, file.getTimeStamp(), file.getLength()));
+    }
+
+    /**
+     * Retourne l'empreinte enregistrée d'un fichier si sa date et sa taille n'ont pas changé depuis
+     * sa dernière écriture : son contenu est alors connu sans avoir à le relire.
+     * Les modifications non enregistrées dans l'éditeur ne sont pas prises en compte.
+     *
+     * @param file le fichier
+     * @return l'empreinte du contenu actuel sur le disque, ou null si elle n'est pas connue
+     */
+    @Nullable
+    public synchronized String getHashIfUntouched(@NotNull VirtualFile file) {
+        ManifestEntry entry = state.files.get(file.getPath());
+        if (entry == null || entry.timeStamp != file.getTimeStamp() || entry.length != file.getLength()) {
+            return null;
+        }
+        return entry.hash;
+    }
+
+    /**
+     * Retire du manifeste un fichier supprimé, ou tous les fichiers d'un répertoire supprimé.
+     *
+     * @param path le chemin du fichier ou du répertoire supprimé
+     */
+    public synchronized void removeFiles(@NotNull String path) {
+        if (state.files.remove(path) == null) {
+            String prefix = path + "/";
+            state.files.keySet().removeIf(filePath -> filePath.startsWith(prefix));
+        }
+    }
+
+    /**
+     * Enregistre une entité pour la régénération automatique, avec une copie de sa configuration.
+     *
+     * @param qualifiedName le nom qualifié de l'entité
+     * @param filePath le chemin du fichier source de l'entité
+     * @param moduleName le module des fichiers générés (peut être null)
+     * @param config la configuration de la génération
+     */
+    public synchronized void recordEntity(@NotNull String qualifiedName, @NotNull String filePath,
+                                          @Nullable String moduleName, @NotNull ApiGeneratorConfig config) {
+        ApiGeneratorConfig copy = new ApiGeneratorConfig();
+        XmlSerializerUtil.copyBean(config, copy);
+        EntityEntry previous = state.entities.put(qualifiedName, new EntityEntry(filePath, moduleName, copy));
+        if (previous != null) {
+            unindexEntity(qualifiedName, previous.filePath);
+        }
+        indexEntity(qualifiedName, filePath);
+    }
+
+    /**
+     * Retire une entité de la régénération automatique.
+     */
+    public synchronized void removeEntity(@NotNull String qualifiedName) {
+        EntityEntry removed = state.entities.remove(qualifiedName);
+        if (removed != null) {
+            unindexEntity(qualifiedName, removed.filePath);
+        }
+    }
+
+    /**
+     * @return l'entrée de régénération automatique d'une entité, ou null si elle n'est pas enregistrée
+     */
+    @Nullable
+    public synchronized EntityEntry getEntity(@NotNull String qualifiedName) {
+        return state.entities.get(qualifiedName);
+    }
+
+    /**
+     * Retourne les entités enregistrées pour la régénération automatique déclarées dans un fichier.
+     *
+     * @param filePath le chemin du fichier
+     * @return les noms qualifiés des entités du fichier
+     */
+    @NotNull
+    public synchronized List<String> getEntitiesInFile(@NotNull String filePath) {
+        Set<String> names = entitiesByPath.get(filePath);
+        return names != null ? new ArrayList<>(names) : Collections.emptyList();
+    }
+
+    /**
+     * Met à jour les chemins des fichiers générés et des fichiers d'entités après le déplacement
+     * ou le renommage d'un fichier ou d'un répertoire.
+     *
+     * @param oldPath l'ancien chemin
+     * @param newPath le nouveau chemin
+     */
+    public synchronized void updatePaths(@NotNull String oldPath, @NotNull String newPath) {
+        String oldPrefix = oldPath + "/";
+
+        Map<String, ManifestEntry> movedFiles = new LinkedHashMap<>();
+        state.files.entrySet().removeIf(entry -> {
+            String path = entry.getKey();
+            if (path.equals(oldPath) || path.startsWith(oldPrefix)) {
+                movedFiles.put(newPath + path.substring(oldPath.length()), entry.getValue());
+                return true;
+            }
+            return false;
+        });
+        state.files.putAll(movedFiles);
+
+        List<String> movedPaths = new ArrayList<>();
+        for (String path : entitiesByPath.keySet()) {
+            if (path.equals(oldPath) || path.startsWith(oldPrefix)) {
+                movedPaths.add(path);
+            }
+        }
+        for (String path : movedPaths) {
+            String updatedPath = newPath + path.substring(oldPath.length());
+            Set<String> names = entitiesByPath.remove(path);
+            for (String name : names) {
+                EntityEntry entry = state.entities.get(name);
+                state.entities.put(name, new EntityEntry(updatedPath, entry.moduleName, entry.config));
+                indexEntity(name, updatedPath);
+            }
+        }
+    }
+
+    private void indexEntity(String qualifiedName, String filePath) {
+        if (filePath != null) {
+            entitiesByPath.computeIfAbsent(filePath, ignored -> new LinkedHashSet<>()).add(qualifiedName);
+        }
+    }
+
+    private void unindexEntity(String qualifiedName, String filePath) {
+        Set<String> names = filePath != null ? entitiesByPath.get(filePath) : null;
+        if (names != null && names.remove(qualifiedName) && names.isEmpty()) {
+            entitiesByPath.remove(filePath);
+        }
+    }
+
+    /**
+     * @return true si au moins une entité est enregistrée pour la régénération automatique
+     */
+    public synchronized boolean hasAutoRegeneratedEntities() {
+        return !state.entities.isEmpty();
+    }
+
+    /**
+     * Vérifie si un fichier généré a été modifié depuis sa dernière génération.
+     *
+     * @param file le fichier à vérifier
+     * @return true ou false selon que le contenu diffère de celui généré, ou null si le fichier est inconnu du manifeste
+     */
+    @Nullable
+    public Boolean isModifiedSinceGeneration(@NotNull VirtualFile file) throws IOException {
+        ManifestEntry entry;
+        synchronized (this) {
+            entry = state.files.get(file.getPath());
+            // Fichier supprimé depuis sa génération : son entrée n'a plus lieu d'être
+            if (entry != null && !file.isValid()) {
+                state.files.remove(file.getPath());
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            return null;
+        }
+
+        // Des modifications non enregistrées dans l'éditeur comptent comme des modifications manuelles
+        FileDocumentManager documentManager = FileDocumentManager.getInstance();
+        Document document = documentManager.getCachedDocument(file);
+        boolean hasUnsavedChanges = document != null && documentManager.isDocumentUnsaved(document);
+
+        // Date et taille inchangées : le fichier n'a pas été touché, inutile de lire son contenu
+        if (!hasUnsavedChanges && entry.timeStamp == file.getTimeStamp() && entry.length == file.getLength()) {
+            return false;
+        }
+
+        byte[] content = hasUnsavedChanges
+                ? document.getText().getBytes(file.getCharset())
+                : file.contentsToByteArray();
+        boolean modified = !ContentHashUtils.hash(content).equals(entry.hash);
+
+        // Le fichier a été touché sans que son contenu change : mettre à jour la date pour les prochaines vérifications
+        if (!modified && !hasUnsavedChanges) {
+            synchronized (this) {
+                state.files.replace(file.getPath(), entry,
+                        new ManifestEntry(entry.hash, file.getTimeStamp(), file.getLength()));
+            }
+        }
+        return modified;
+    }
+}
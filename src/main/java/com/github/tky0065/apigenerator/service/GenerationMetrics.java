@@ -0,0 +1,183 @@
+package com.github.tky0065.apigenerator.service;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mesures de la génération pour un projet : durée de chaque phase (horloge monotone) et compteurs.
+ * Les durées des dernières exécutions de chaque phase sont conservées pendant toute la session
+ * pour en calculer les percentiles, consultables dans la fenêtre « API Generator Metrics ».
+ */
+@Service(Service.Level.PROJECT)
+public final class GenerationMetrics {
+
+    // Phases mesurées
+    public static final String PHASE_VALIDATE = "validate";
+    public static final String PHASE_ANALYZE = "analyze";
+    public static final String PHASE_DEPENDENCIES = "dependencies";
+    public static final String PHASE_GENERATE_PREFIX = "generate:";
+    public static final String PHASE_CONFLICTS = "conflicts";
+    public static final String PHASE_WRITE = "write";
+
+    // Compteurs
+    public static final String COUNTER_FILES_WRITTEN = "files.written";
+    public static final String COUNTER_FILES_UNCHANGED = "files.unchanged";
+    public static final String COUNTER_FILES_SKIPPED = "files.skipped";
+    public static final String COUNTER_GENERATION_FAILURES = "generation.failures";
+
+    // Nombre de durées conservées par phase pour le calcul des percentiles
+    private static final int SAMPLE_WINDOW_SIZE = 1024;
+
+    /**
+     * Statistiques d'une phase à un instant donné. Les durées sont en nanosecondes.
+     */
+    @Value
+    public static class PhaseSnapshot {
+        String phase;
+        long count;
+        long totalNanos;
+        long maxNanos;
+        long p50Nanos;
+        long p90Nanos;
+        long p99Nanos;
+
+        public long getMeanNanos() {
+            return count > 0 ? totalNanos / count : 0;
+        }
+    }
+
+    private final Map<String, PhaseStats> phases = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    public static GenerationMetrics getInstance(Project project) {
+        return project.getService(GenerationMetrics.class);
+    }
+
+    /**
+     * Enregistre une exécution d'une phase.
+     *
+     * @param phase le nom de la phase
+     * @param elapsedNanos la durée mesurée avec {@link System#nanoTime()}
+     */
+    public void recordTiming(String phase, long elapsedNanos) {
+        phases.computeIfAbsent(phase, ignored -> new PhaseStats()).record(elapsedNanos);
+        fireChanged();
+    }
+
+    /**
+     * Incrémente un compteur.
+     *
+     * @param counter le nom du compteur
+     * @param delta la valeur à ajouter
+     */
+    public void increment(String counter, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        counters.computeIfAbsent(counter, ignored -> new LongAdder()).add(delta);
+        fireChanged();
+    }
+
+    /**
+     * @return les statistiques de chaque phase, triées par durée totale décroissante
+     */
+    public List<PhaseSnapshot> getPhaseSnapshots() {
+        List<PhaseSnapshot> snapshots = new ArrayList<>(phases.size());
+        phases.forEach((phase, stats) -> snapshots.add(stats.snapshot(phase)));
+        snapshots.sort(Comparator.comparingLong(PhaseSnapshot::getTotalNanos).reversed());
+        return snapshots;
+    }
+
+    /**
+     * @return la valeur de chaque compteur, par ordre alphabétique
+     */
+    public Map<String, Long> getCounters() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        counters.keySet().stream().sorted().forEach(counter -> values.put(counter, counters.get(counter).sum()));
+        return values;
+    }
+
+    /**
+     * Efface toutes les mesures.
+     */
+    public void reset() {
+        phases.clear();
+        counters.clear();
+        fireChanged();
+    }
+
+    /**
+     * Ajoute un écouteur appelé (depuis n'importe quel thread) à chaque nouvelle mesure.
+     *
+     * @param listener l'écouteur
+     * @param parentDisposable retire l'écouteur lorsqu'il est libéré
+     */
+    public void addChangeListener(Runnable listener, Disposable parentDisposable) {
+        listeners.add(listener);
+        Disposer.register(parentDisposable, () -> listeners.remove(listener));
+    }
+
+    private void fireChanged() {
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Durées d'une phase : compteurs cumulés et fenêtre circulaire des dernières exécutions.
+     */
+    private static final class PhaseStats {
+        private final long[] samples = new long[SAMPLE_WINDOW_SIZE];
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+
+        synchronized void record(long elapsedNanos) {
+            samples[(int) (count % SAMPLE_WINDOW_SIZE)] = elapsedNanos;
+            count++;
+            totalNanos += elapsedNanos;
+            maxNanos = Math.max(maxNanos, elapsedNanos);
+        }
+
+        PhaseSnapshot snapshot(String phase) {
+            long[] sorted;
+            long snapshotCount;
+            long snapshotTotal;
+            long snapshotMax;
+            synchronized (this) {
+                sorted = Arrays.copyOf(samples, (int) Math.min(count, SAMPLE_WINDOW_SIZE));
+                snapshotCount = count;
+                snapshotTotal = totalNanos;
+                snapshotMax = maxNanos;
+            }
+            Arrays.sort(sorted);
+            return new PhaseSnapshot(phase, snapshotCount, snapshotTotal, snapshotMax,
+                    percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99));
+        }
+
+        /**
+         * Percentile par la méthode du rang le plus proche.
+         */
+        private static long percentile(long[] sorted, int percent) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percent / 100d * sorted.length);
+            return sorted[Math.max(0, rank - 1)];
+        }
+    }
+}
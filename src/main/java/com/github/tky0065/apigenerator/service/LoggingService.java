@@ -2,6 +2,8 @@ package com.github.tky0065.apigenerator.service;
 
 import com.intellij.openapi.project.Project;
 
+import java.util.function.Supplier;
+
 /**
  * Service de journalisation des actions et erreurs du plugin.
  * Permet de garder une trace des opérations effectuées pour faciliter le débogage.
@@ -34,6 +36,14 @@ public interface LoggingService {
      */
     void debug(Project project, String message);
 
+    /**
+     * Enregistre un message au niveau DEBUG, construit uniquement si ce niveau est actif.
+     *
+     * @param project Le projet concerné (peut être null)
+     * @param messageSupplier Fournit le message à journaliser
+     */
+    void debug(Project project, Supplier<String> messageSupplier);
+
     /**
      * Enregistre un message au niveau WARN.
      *
@@ -87,4 +97,22 @@ public interface LoggingService {
      * @param details Les détails de la validation
      */
     void logEntityValidation(Project project, String entityName, boolean isValid, String details);
+
+    /**
+     * Journalise la durée d'une phase de la génération et l'ajoute aux mesures du projet.
+     *
+     * @param project Le projet concerné (peut être null : la durée est alors seulement journalisée)
+     * @param phase Le nom de la phase (voir les constantes de {@link GenerationMetrics})
+     * @param elapsedNanos La durée mesurée avec {@link System#nanoTime()}
+     */
+    void logTiming(Project project, String phase, long elapsedNanos);
+
+    /**
+     * Incrémente un compteur des mesures du projet.
+     *
+     * @param project Le projet concerné (peut être null : le compteur est alors ignoré)
+     * @param counter Le nom du compteur (voir les constantes de {@link GenerationMetrics})
+     * @param delta La valeur à ajouter
+     */
+    void logCount(Project project, String counter, long delta);
 }
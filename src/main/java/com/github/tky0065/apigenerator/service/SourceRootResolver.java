@@ -0,0 +1,186 @@
+package com.github.tky0065.apigenerator.service;
+
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.roots.PackageIndex;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.roots.ProjectRootModificationTracker;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.VfsUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jps.model.java.JavaSourceRootType;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Résout l'emplacement des fichiers générés à partir des index du projet.
+ * Les classes existantes sont recherchées via {@link JavaPsiFacade}, les répertoires de package via
+ * {@link PackageIndex}, et les racines de sources de chaque module sont mises en cache jusqu'au
+ * prochain changement de la configuration des racines.
+ */
+@Service(Service.Level.PROJECT)
+public final class SourceRootResolver {
+
+    private static final Key<CachedValue<Map<Module, List<VirtualFile>>>> SOURCE_ROOTS_KEY =
+            Key.create("apigenerator.moduleSourceRoots");
+
+    // Emplacement utilisé lorsque le module cible est inconnu ou ne déclare aucune racine de sources
+    private static final String DEFAULT_SOURCE_ROOT = "src/main/java";
+
+    private final Project project;
+
+    public SourceRootResolver(Project project) {
+        this.project = project;
+    }
+
+    public static SourceRootResolver getInstance(Project project) {
+        return project.getService(SourceRootResolver.class);
+    }
+
+    /**
+     * Recherche le fichier source d'une classe dans le projet.
+     * Doit être appelé dans une action de lecture.
+     *
+     * @param packageName le package de la classe
+     * @param className le nom simple de la classe
+     * @param module le module dans lequel chercher en priorité, ou null pour tout le projet
+     * @return le fichier de la classe ou null s'il n'existe pas
+     */
+    @Nullable
+    public VirtualFile findExistingFile(@NotNull String packageName, @NotNull String className, @Nullable Module module) {
+        String fileName = className + ".java";
+
+        // Les index ne sont pas disponibles pendant l'indexation : chercher directement dans les répertoires du package
+        if (DumbService.isDumb(project)) {
+            for (VirtualFile directory : PackageIndex.getInstance(project).getDirsByPackageName(packageName, false)) {
+                VirtualFile file = directory.findChild(fileName);
+                if (file != null) {
+                    return file;
+                }
+            }
+            return null;
+        }
+
+        String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        JavaPsiFacade javaPsiFacade = JavaPsiFacade.getInstance(project);
+        PsiClass psiClass = module != null
+                ? javaPsiFacade.findClass(qualifiedName, GlobalSearchScope.moduleScope(module))
+                : null;
+        if (psiClass == null) {
+            psiClass = javaPsiFacade.findClass(qualifiedName, GlobalSearchScope.projectScope(project));
+        }
+        if (psiClass == null) {
+            return null;
+        }
+
+        PsiFile containingFile = psiClass.getContainingFile();
+        VirtualFile file = containingFile != null ? containingFile.getVirtualFile() : null;
+        return file != null && fileName.equals(file.getName()) ? file : null;
+    }
+
+    /**
+     * Retourne le répertoire d'un package dans les sources de production d'un module, en le créant si nécessaire.
+     * Doit être appelé dans une action d'écriture.
+     *
+     * @param module le module cible, ou null pour utiliser src/main/java à la racine du projet
+     * @param packageName le package
+     * @return le répertoire du package
+     * @throws IOException si le répertoire ne peut pas être créé, ou si aucune racine du module
+     *                     n'a un préfixe de package compatible
+     */
+    @NotNull
+    public VirtualFile getOrCreatePackageDirectory(@Nullable Module module, @NotNull String packageName) throws IOException {
+        ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+        PackageIndex packageIndex = PackageIndex.getInstance(project);
+        List<VirtualFile> sourceRoots = module != null ? getSourceRoots(module) : Collections.emptyList();
+
+        // Réutiliser un répertoire existant du package dans les sources de production du module
+        for (VirtualFile directory : packageIndex.getDirsByPackageName(packageName, false)) {
+            if (sourceRoots.contains(fileIndex.getSourceRootForFile(directory))) {
+                return directory;
+            }
+        }
+
+        if (sourceRoots.isEmpty()) {
+            VirtualFile baseDir = project.getBaseDir();
+            if (baseDir == null) {
+                throw new IllegalStateException("Impossible de trouver le répertoire de base du projet");
+            }
+            return createDirectory(baseDir, toRelativePath(DEFAULT_SOURCE_ROOT, "", packageName));
+        }
+
+        // Créer le package sous la première racine compatible avec son préfixe de package
+        for (VirtualFile root : sourceRoots) {
+            String prefix = packageIndex.getPackageNameByDirectory(root);
+            if (prefix == null || prefix.isEmpty() || packageName.equals(prefix) || packageName.startsWith(prefix + ".")) {
+                return createDirectory(root, toRelativePath("", prefix, packageName));
+            }
+        }
+
+        // Aucune racine ne peut contenir ce package : l'écrire ailleurs le rendrait invisible du compilateur
+        throw new IOException("Aucune racine de sources du module " + module.getName()
+                + " ne correspond au package " + packageName);
+    }
+
+    /**
+     * Retourne les racines de sources de production d'un module.
+     */
+    @NotNull
+    public List<VirtualFile> getSourceRoots(@NotNull Module module) {
+        Map<Module, List<VirtualFile>> sourceRoots = CachedValuesManager.getManager(project).getCachedValue(
+                project, SOURCE_ROOTS_KEY, () -> CachedValueProvider.Result.create(
+                        computeSourceRoots(), ProjectRootModificationTracker.getInstance(project)), false);
+        return sourceRoots.getOrDefault(module, Collections.emptyList());
+    }
+
+    /**
+     * Calcule les racines de sources Java de production de tous les modules.
+     */
+    private Map<Module, List<VirtualFile>> computeSourceRoots() {
+        Map<Module, List<VirtualFile>> sourceRoots = new HashMap<>();
+        for (Module module : ModuleManager.getInstance(project).getModules()) {
+            sourceRoots.put(module, ModuleRootManager.getInstance(module).getSourceRoots(JavaSourceRootType.SOURCE));
+        }
+        return sourceRoots;
+    }
+
+    /**
+     * Crée les répertoires manquants d'un chemin relatif ; un chemin vide désigne la racine elle-même.
+     */
+    private VirtualFile createDirectory(VirtualFile root, String relativePath) throws IOException {
+        return relativePath.isEmpty() ? root : VfsUtil.createDirectoryIfMissing(root, relativePath);
+    }
+
+    /**
+     * Construit le chemin relatif du répertoire d'un package sous une racine.
+     */
+    private String toRelativePath(String rootPath, @Nullable String packagePrefix, String packageName) {
+        String relativePackage = packageName;
+        if (packagePrefix != null && !packagePrefix.isEmpty()) {
+            relativePackage = packageName.equals(packagePrefix) ? "" : packageName.substring(packagePrefix.length() + 1);
+        }
+
+        String packagePath = relativePackage.replace('.', '/');
+        if (rootPath.isEmpty()) {
+            return packagePath;
+        }
+        return packagePath.isEmpty() ? rootPath : rootPath + "/" + packagePath;
+    }
+}
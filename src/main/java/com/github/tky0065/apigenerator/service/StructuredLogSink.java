@@ -0,0 +1,221 @@
+package com.github.tky0065.apigenerator.service;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.registry.Registry;
+import com.intellij.util.ExceptionUtil;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Journal structuré du plugin : une ligne JSON par événement dans {@code .idea/api-generator.log.jsonl}.
+ * Désactivé par défaut (clé de registre {@value #REGISTRY_KEY}). Les événements sont mis en file
+ * par l'appelant et écrits par un unique thread d'arrière-plan : ni la mise en forme JSON ni
+ * l'écriture disque n'ont lieu sur le thread de génération.
+ */
+@Service(Service.Level.PROJECT)
+public final class StructuredLogSink implements Disposable {
+
+    public static final String REGISTRY_KEY = "apigenerator.structured.log";
+
+    private static final Logger LOG = Logger.getInstance(StructuredLogSink.class);
+    private static final String LOG_FILE_NAME = "api-generator.log.jsonl";
+
+    // Au-delà, les nouveaux événements sont abandonnés plutôt que de faire attendre la génération
+    private static final int MAX_PENDING_EVENTS = 10_000;
+
+    private final Project project;
+    private final Queue<Event> pendingEvents = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicInteger droppedCount = new AtomicInteger();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final ExecutorService writer =
+            AppExecutorUtil.createBoundedApplicationPoolExecutor("API Generator Structured Log", 1);
+    private volatile boolean disposed;
+
+    /**
+     * Événement en attente d'écriture ; sa mise en forme JSON est faite par le thread d'écriture.
+     */
+    private static final class Event {
+        final long timestamp = System.currentTimeMillis();
+        final String level;
+        final String message;
+        final Throwable throwable;
+        final String phase;
+        final long elapsedNanos;
+
+        Event(String level, String message, Throwable throwable, String phase, long elapsedNanos) {
+            this.level = level;
+            this.message = message;
+            this.throwable = throwable;
+            this.phase = phase;
+            this.elapsedNanos = elapsedNanos;
+        }
+    }
+
+    public StructuredLogSink(Project project) {
+        this.project = project;
+    }
+
+    public static StructuredLogSink getInstance(Project project) {
+        return project.getService(StructuredLogSink.class);
+    }
+
+    /**
+     * @return true si le journal structuré est activé dans le registre
+     */
+    public static boolean isEnabled() {
+        return Registry.is(REGISTRY_KEY, false);
+    }
+
+    /**
+     * Met un message en file d'écriture.
+     *
+     * @param level le niveau du message
+     * @param message le message
+     * @param throwable l'exception associée, ou null
+     */
+    public void log(LoggingService.LogLevel level, String message, @Nullable Throwable throwable) {
+        enqueue(new Event(level.name(), message, throwable, null, -1));
+    }
+
+    /**
+     * Met la durée d'une phase en file d'écriture.
+     *
+     * @param phase le nom de la phase
+     * @param elapsedNanos la durée en nanosecondes
+     */
+    public void logTiming(String phase, long elapsedNanos) {
+        enqueue(new Event(LoggingService.LogLevel.DEBUG.name(), null, null, phase, elapsedNanos));
+    }
+
+    private void enqueue(Event event) {
+        if (disposed) {
+            return;
+        }
+        if (pendingCount.incrementAndGet() > MAX_PENDING_EVENTS) {
+            pendingCount.decrementAndGet();
+            droppedCount.incrementAndGet();
+            return;
+        }
+        pendingEvents.add(event);
+        if (drainScheduled.compareAndSet(false, true)) {
+            writer.execute(this::drain);
+        }
+    }
+
+    /**
+     * Écrit tous les événements en attente. Exécuté sur le thread d'écriture.
+     */
+    private void drain() {
+        drainScheduled.set(false);
+        if (pendingEvents.isEmpty()) {
+            return;
+        }
+
+        Path logFile = getLogFile();
+        if (logFile == null) {
+            pendingEvents.clear();
+            pendingCount.set(0);
+            return;
+        }
+
+        try {
+            Files.createDirectories(logFile.getParent());
+            try (BufferedWriter out = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                int dropped = droppedCount.getAndSet(0);
+                if (dropped > 0) {
+                    out.write(toJson(new Event(LoggingService.LogLevel.WARN.name(),
+                            dropped + " event(s) dropped: structured log queue full", null, null, -1)));
+                    out.newLine();
+                }
+
+                Event event;
+                while ((event = pendingEvents.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    out.write(toJson(event));
+                    out.newLine();
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Unable to write structured log to " + logFile + ": " + e.getMessage());
+        }
+    }
+
+    @Nullable
+    private Path getLogFile() {
+        String basePath = project.getBasePath();
+        return basePath != null ? Paths.get(basePath, Project.DIRECTORY_STORE_FOLDER, LOG_FILE_NAME) : null;
+    }
+
+    private String toJson(Event event) {
+        StringBuilder json = new StringBuilder(128);
+        json.append("{\"ts\":\"").append(Instant.ofEpochMilli(event.timestamp)).append('"');
+        json.append(",\"level\":\"").append(event.level).append('"');
+        if (event.phase != null) {
+            appendString(json, "phase", event.phase);
+            json.append(",\"elapsedNanos\":").append(event.elapsedNanos);
+        }
+        if (event.message != null) {
+            appendString(json, "message", event.message);
+        }
+        if (event.throwable != null) {
+            appendString(json, "error", ExceptionUtil.getThrowableText(event.throwable));
+        }
+        return json.append('}').toString();
+    }
+
+    private static void appendString(StringBuilder json, String name, String value) {
+        json.append(",\"").append(name).append("\":\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+
+    @Override
+    public void dispose() {
+        // Les événements déjà en file sont encore écrits par la tâche planifiée
+        disposed = true;
+    }
+}
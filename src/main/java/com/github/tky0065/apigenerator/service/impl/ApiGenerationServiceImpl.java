@@ -0,0 +1,336 @@
+package com.github.tky0065.apigenerator.service.impl;
+
+import com.github.tky0065.apigenerator.config.ApiGeneratorConfig;
+import com.github.tky0065.apigenerator.model.EntityModel;
+import com.github.tky0065.apigenerator.model.GeneratedFile;
+import com.github.tky0065.apigenerator.model.GenerationResult;
+import com.github.tky0065.apigenerator.service.ApiGenerationService;
+import com.github.tky0065.apigenerator.service.EntityAnalyzerService;
+import com.github.tky0065.apigenerator.service.EntityModelCache;
+import com.github.tky0065.apigenerator.service.ExistingFileService;
+import com.github.tky0065.apigenerator.service.ExistingFileService.FileAction;
+import com.github.tky0065.apigenerator.service.GenerationManifest;
+import com.github.tky0065.apigenerator.service.GenerationMetrics;
+import com.github.tky0065.apigenerator.service.LoggingService;
+import com.github.tky0065.apigenerator.service.impl.GeneratedFileWriter.WriteStatus;
+import com.github.tky0065.apigenerator.util.TypeResolutionCache;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.util.ProgressIndicatorUtils;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.SmartPsiElementPointer;
+import com.intellij.util.concurrency.AppExecutorUtil;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implémentation du service d'orchestration de la génération d'API.
+ */
+public class ApiGenerationServiceImpl implements ApiGenerationService {
+
+    // Nombre d'entités traitées avant chaque écriture : borne la mémoire occupée par le code généré
+    private static final int BATCH_CHUNK_SIZE = 32;
+
+    // Nombre maximal de threads utilisés pour la génération en lot
+    private static final int MAX_BATCH_THREADS = 8;
+
+    // Exécuteur partagé des couches générées en parallèle pour une entité
+    private static final ExecutorService PIPELINE_EXECUTOR = AppExecutorUtil.createBoundedApplicationPoolExecutor(
+            "API Generator Pipeline", Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), 4)));
+
+    /**
+     * Résultat de la génération d'une entité du lot : ses fichiers, et de quoi mettre à jour
+     * sa régénération automatique une fois ces fichiers écrits.
+     */
+    private static final class EntityGeneration {
+        private final String qualifiedName;
+        private final String filePath;
+        private final String moduleName;
+        private final List<GeneratedFile> files;
+
+        private EntityGeneration(String qualifiedName, String filePath, String moduleName, List<GeneratedFile> files) {
+            this.qualifiedName = qualifiedName;
+            this.filePath = filePath;
+            this.moduleName = moduleName;
+            this.files = files;
+        }
+    }
+
+    private final GenerationPipeline pipeline = GenerationPipeline.createDefault();
+    private final EntityAnalyzerService entityAnalyzerService;
+    private final ExistingFileService existingFileService;
+    private final LoggingService loggingService;
+    private final GeneratedFileWriter fileWriter;
+
+    public ApiGenerationServiceImpl(EntityAnalyzerService entityAnalyzerService,
+                                    ExistingFileService existingFileService,
+                                    LoggingService loggingService) {
+        this.entityAnalyzerService = entityAnalyzerService;
+        this.existingFileService = existingFileService;
+        this.loggingService = loggingService;
+        this.fileWriter = new GeneratedFileWriter(loggingService);
+    }
+
+    @Override
+    public List<GeneratedFile> generateFiles(Project project, EntityModel entityModel, ApiGeneratorConfig config) {
+        return generate(project, entityModel, config).getFiles();
+    }
+
+    @Override
+    public GenerationResult generate(Project project, EntityModel entityModel, ApiGeneratorConfig config) {
+        // Les couches indépendantes sont générées en parallèle
+        GenerationResult result = pipeline.run(project, entityModel, config, PIPELINE_EXECUTOR);
+        logGeneratorTimings(project, result);
+        loggingService.debug(project, () -> "Generated " + result.getFiles().size() + " file(s) for "
+                + entityModel.getClassName() + " in " + result.getElapsedNanos() / 1_000_000 + " ms");
+        return result;
+    }
+
+    @Override
+    public BatchGenerationResult generateBatch(Project project, List<SmartPsiElementPointer<PsiClass>> entities,
+                                               ApiGeneratorConfig config, ProgressIndicator indicator) {
+        long start = System.nanoTime();
+        int threadCount = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), MAX_BATCH_THREADS));
+        ExecutorService executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("API Generator Batch", threadCount);
+
+        List<String> failures = Collections.synchronizedList(new ArrayList<>());
+        List<String> writeFailures = new ArrayList<>();
+        AtomicInteger writtenCount = new AtomicInteger();
+        AtomicInteger skippedCount = new AtomicInteger();
+        AtomicInteger unchangedCount = new AtomicInteger();
+        int processedCount = 0;
+
+        // Les entités du lot partagent la résolution des types de leurs champs
+        TypeResolutionCache typeCache = new TypeResolutionCache();
+
+        loggingService.info(project, "Starting batch generation for " + entities.size() + " entities on "
+                + threadCount + " thread(s)");
+        indicator.setIndeterminate(false);
+
+        try {
+            for (int from = 0; from < entities.size(); from += BATCH_CHUNK_SIZE) {
+                indicator.checkCanceled();
+                List<SmartPsiElementPointer<PsiClass>> chunk =
+                        entities.subList(from, Math.min(from + BATCH_CHUNK_SIZE, entities.size()));
+
+                // Analyser et générer les entités du lot en parallèle
+                List<Future<EntityGeneration>> futures = new ArrayList<>(chunk.size());
+                for (SmartPsiElementPointer<PsiClass> pointer : chunk) {
+                    futures.add(executor.submit(() -> generateForEntity(project, pointer, config, typeCache, indicator, failures)));
+                }
+
+                List<EntityGeneration> generations = new ArrayList<>(chunk.size());
+                List<GeneratedFile> chunkFiles = new ArrayList<>();
+                for (Future<EntityGeneration> future : futures) {
+                    EntityGeneration generation = ProgressIndicatorUtils.awaitWithCheckCanceled(future, indicator);
+                    if (generation != null) {
+                        generations.add(generation);
+                        chunkFiles.addAll(generation.files);
+                    }
+                }
+
+                // Écrire le lot avant de passer au suivant pour ne pas accumuler le code généré en mémoire
+                Set<GeneratedFile> failedFiles = writeChunk(project, chunkFiles, config, indicator,
+                        writtenCount, skippedCount, unchangedCount, writeFailures);
+                updateAutoRegeneration(project, generations, failedFiles, config);
+
+                processedCount += chunk.size();
+                indicator.setFraction((double) processedCount / entities.size());
+                indicator.setText2(processedCount + " / " + entities.size() + " entités");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long elapsed = System.nanoTime() - start;
+        EntityModelCache entityModelCache = EntityModelCache.getInstance(project);
+        loggingService.debug(project, () -> "Entity model cache: " + entityModelCache.getHitCount() + " hit(s), "
+                + entityModelCache.getMissCount() + " miss(es), " + typeCache.size() + " distinct field type(s) resolved");
+        List<String> allFailures = new ArrayList<>(failures);
+        allFailures.addAll(writeFailures);
+        BatchGenerationResult result = new BatchGenerationResult(processedCount - failures.size(),
+                writtenCount.get(), skippedCount.get(), unchangedCount.get(), allFailures, elapsed);
+
+        loggingService.info(project, String.format("Batch generation finished: %d entities, %d file(s) written, "
+                        + "%d unchanged, %d skipped, %d failure(s) in %d ms (%.1f entities/s)",
+                result.getEntityCount(), result.getWrittenFileCount(), result.getUnchangedFileCount(),
+                result.getSkippedFileCount(),
+                allFailures.size(), elapsed / 1_000_000, result.getEntitiesPerSecond()));
+        loggingService.logCount(project, GenerationMetrics.COUNTER_FILES_WRITTEN, result.getWrittenFileCount());
+        loggingService.logCount(project, GenerationMetrics.COUNTER_FILES_UNCHANGED, result.getUnchangedFileCount());
+        loggingService.logCount(project, GenerationMetrics.COUNTER_FILES_SKIPPED, result.getSkippedFileCount());
+        loggingService.logCount(project, GenerationMetrics.COUNTER_GENERATION_FAILURES, allFailures.size());
+
+        return result;
+    }
+
+    /**
+     * Reporte la durée de chaque générateur dans les mesures du projet.
+     */
+    private void logGeneratorTimings(Project project, GenerationResult result) {
+        result.getGeneratorNanos().forEach((type, nanos) ->
+                loggingService.logTiming(project, GenerationMetrics.PHASE_GENERATE_PREFIX + type, nanos));
+    }
+
+    /**
+     * Analyse une entité et génère ses fichiers. Exécuté sur un thread du pool de génération.
+     *
+     * @return le résultat de l'entité, ou null si elle n'a pas pu être générée
+     */
+    private EntityGeneration generateForEntity(Project project, SmartPsiElementPointer<PsiClass> pointer,
+                                                  ApiGeneratorConfig config, TypeResolutionCache typeCache,
+                                                  ProgressIndicator indicator, List<String> failures) {
+        indicator.checkCanceled();
+        EntityModel entityModel = null;
+        try {
+            long analyzeStart = System.nanoTime();
+            entityModel = ReadAction.compute(() -> {
+                PsiClass psiClass = pointer.getElement();
+                if (psiClass == null || !entityAnalyzerService.isJpaEntity(psiClass)) {
+                    return null;
+                }
+                return EntityModelCache.getInstance(project).getEntityModel(psiClass, typeCache);
+            });
+            loggingService.logTiming(project, GenerationMetrics.PHASE_ANALYZE, System.nanoTime() - analyzeStart);
+
+            if (entityModel == null) {
+                failures.add("Entité introuvable ou invalide : " + pointer.getVirtualFile());
+                return null;
+            }
+
+            // Les fichiers sont écrits dans le module de l'entité
+            String moduleName = ReadAction.compute(() -> {
+                Module module = ModuleUtilCore.findModuleForFile(pointer.getVirtualFile(), project);
+                return module != null ? module.getName() : null;
+            });
+
+            // Les entités sont déjà traitées en parallèle : les couches d'une entité sont générées séquentiellement
+            GenerationResult result = pipeline.run(project, entityModel, config, Runnable::run);
+            logGeneratorTimings(project, result);
+            List<GeneratedFile> files = new ArrayList<>();
+            for (GeneratedFile file : result.getFiles()) {
+                files.add(file.withModuleName(moduleName));
+            }
+            return new EntityGeneration(entityModel.getQualifiedName(), pointer.getVirtualFile().getPath(),
+                    moduleName, files);
+        } catch (ProcessCanceledException e) {
+            throw e;
+        } catch (Exception e) {
+            String entityName = entityModel != null ? entityModel.getQualifiedName() : String.valueOf(pointer.getVirtualFile());
+            loggingService.warn(project, "Batch generation failed for " + entityName + ": " + e.getMessage());
+            failures.add(entityName + " : " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Enregistre les entités du lot pour la régénération automatique si l'option est activée, ou les en retire sinon.
+     * Appelé une fois le lot écrit : une entité dont un fichier n'a pas pu être écrit est laissée en l'état.
+     */
+    private void updateAutoRegeneration(Project project, List<EntityGeneration> generations,
+                                        Set<GeneratedFile> failedFiles, ApiGeneratorConfig config) {
+        GenerationManifest manifest = GenerationManifest.getInstance(project);
+        for (EntityGeneration generation : generations) {
+            if (generation.files.stream().anyMatch(failedFiles::contains)) {
+                continue;
+            }
+            if (config.isAutoRegenerate() && generation.filePath != null) {
+                manifest.recordEntity(generation.qualifiedName, generation.filePath, generation.moduleName, config);
+            } else {
+                manifest.removeEntity(generation.qualifiedName);
+            }
+        }
+    }
+
+    /**
+     * Écrit les fichiers d'un lot dans une seule commande d'écriture.
+     * Les fichiers modifiés manuellement ne sont remplacés que si la configuration le permet.
+     * Les conflits sont détectés sur le thread appelant ; seule l'écriture s'exécute sur l'EDT.
+     *
+     * @return les fichiers qui n'ont pas pu être écrits
+     */
+    private Set<GeneratedFile> writeChunk(Project project, List<GeneratedFile> files, ApiGeneratorConfig config,
+                                          ProgressIndicator indicator, AtomicInteger writtenCount,
+                                          AtomicInteger skippedCount, AtomicInteger unchangedCount,
+                                          List<String> failures) {
+        Set<GeneratedFile> failedFiles = new HashSet<>();
+        if (files.isEmpty()) {
+            return failedFiles;
+        }
+
+        // Déterminer les fichiers à écrire hors de l'EDT : recherche dans les index et lecture des fichiers touchés
+        long conflictsStart = System.nanoTime();
+        List<GeneratedFile> filesToWrite = ReadAction.nonBlocking(() -> selectFilesToWrite(project, files, config))
+                .wrapProgress(indicator)
+                .expireWith(project)
+                .executeSynchronously();
+        loggingService.logTiming(project, GenerationMetrics.PHASE_CONFLICTS, System.nanoTime() - conflictsStart);
+
+        Set<GeneratedFile> selectedFiles = new HashSet<>(filesToWrite);
+        for (GeneratedFile file : files) {
+            if (!selectedFiles.contains(file)) {
+                loggingService.info(project, "Skipping manually modified file " + file.getClassName() + ".java");
+                skippedCount.incrementAndGet();
+            }
+        }
+        if (filesToWrite.isEmpty()) {
+            return failedFiles;
+        }
+
+        ApplicationManager.getApplication().invokeAndWait(() -> {
+            long writeStart = System.nanoTime();
+            WriteCommandAction.runWriteCommandAction(project, "Génération d'API en lot", null, () -> {
+                for (GeneratedFile file : filesToWrite) {
+                    try {
+                        if (fileWriter.write(project, file) == WriteStatus.UNCHANGED) {
+                            unchangedCount.incrementAndGet();
+                        } else {
+                            writtenCount.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        loggingService.warn(project, "Unable to write " + file.getClassName() + ".java: " + e.getMessage());
+                        failures.add(file.getClassName() + ".java : " + e.getMessage());
+                        failedFiles.add(file);
+                    }
+                }
+            });
+            loggingService.logTiming(project, GenerationMetrics.PHASE_WRITE, System.nanoTime() - writeStart);
+        }, ModalityState.defaultModalityState());
+        return failedFiles;
+    }
+
+    /**
+     * Retourne les fichiers du lot à écrire : ceux qui n'existent pas, n'ont pas été modifiés manuellement,
+     * ou peuvent être remplacés selon la configuration.
+     * Exécuté dans une action de lecture non bloquante : ne doit pas avoir d'effet de bord.
+     */
+    private List<GeneratedFile> selectFilesToWrite(Project project, List<GeneratedFile> files, ApiGeneratorConfig config) {
+        List<GeneratedFile> filesToWrite = new ArrayList<>(files.size());
+        for (GeneratedFile file : files) {
+            FileAction action = existingFileService.checkFileExists(
+                    project, file.getPackageName(), file.getClassName(), FileAction.REPLACE);
+            if (action == FileAction.ASK) {
+                action = config.isOverwriteExistingFiles() ? FileAction.REPLACE : FileAction.SKIP;
+            }
+            if (action != FileAction.SKIP) {
+                filesToWrite.add(file);
+            }
+        }
+        return filesToWrite;
+    }
+}
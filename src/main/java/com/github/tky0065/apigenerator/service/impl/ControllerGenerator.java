@@ -7,8 +7,13 @@ import com.intellij.openapi.project.Project;
 import com.squareup.javapoet.*;
 
 import javax.lang.model.element.Modifier;
-import java.util.List;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.Optional;
+import java.util.StringJoiner;
 
 /**
  * Générateur de Controller REST avec endpoints CRUD.
@@ -21,14 +26,14 @@ public class ControllerGenerator implements CodeGenerator {
         TypeName idType = getIdTypeName(entityModel);
 
         // Obtenir le nom complet de la classe d'entité
-        ClassName entityClassName = ClassName.get(entityModel.getPackageName(), entityModel.getClassName());
+        ClassName entityClassName = TypeNameResolver.className(entityModel.getPackageName(), entityModel.getClassName());
 
         // Obtenir le nom complet de la classe DTO si utilisée
         TypeName dtoTypeName = null;
         if (config.isGenerateDto()) {
             String dtoPackageName = getDtoPackageName(entityModel, config);
             String dtoClassName = entityModel.getClassName() + config.getDtoSuffix();
-            dtoTypeName = ClassName.get(dtoPackageName, dtoClassName);
+            dtoTypeName = TypeNameResolver.className(dtoPackageName, dtoClassName);
         } else {
             dtoTypeName = entityClassName;
         }
@@ -36,19 +41,19 @@ public class ControllerGenerator implements CodeGenerator {
         // Obtenir le nom complet de la classe Service
         String servicePackageName = getServicePackageName(entityModel, config);
         String serviceClassName = entityModel.getClassName() + config.getServiceSuffix();
-        ClassName serviceTypeName = ClassName.get(servicePackageName, serviceClassName);
+        ClassName serviceTypeName = TypeNameResolver.className(servicePackageName, serviceClassName);
 
         // Créer la classe Controller
         TypeSpec.Builder classBuilder = TypeSpec.classBuilder(getGeneratedClassName(entityModel, config))
                 .addModifiers(Modifier.PUBLIC);
 
         // Ajouter les annotations Spring
-        ClassName restControllerAnnotation = ClassName.get("org.springframework.web.bind.annotation", "RestController");
+        ClassName restControllerAnnotation = GeneratedTypes.REST_CONTROLLER;
         classBuilder.addAnnotation(restControllerAnnotation);
 
         String basePath = "/" + entityModel.getClassName().toLowerCase() + "s";
         AnnotationSpec.Builder requestMappingAnnotation = AnnotationSpec.builder(
-                ClassName.get("org.springframework.web.bind.annotation", "RequestMapping"))
+                GeneratedTypes.REQUEST_MAPPING)
                 .addMember("value", "$S", basePath);
         classBuilder.addAnnotation(requestMappingAnnotation.build());
 
@@ -58,20 +63,58 @@ public class ControllerGenerator implements CodeGenerator {
         classBuilder.addField(serviceField);
 
         // Ajouter un constructeur pour l'injection de dépendances
-        MethodSpec constructor = MethodSpec.constructorBuilder()
+        MethodSpec.Builder constructor = MethodSpec.constructorBuilder()
                 .addModifiers(Modifier.PUBLIC)
                 .addParameter(serviceTypeName, "service")
-                .addStatement("this.$N = $N", "service", "service")
-                .build();
-        classBuilder.addMethod(constructor);
+                .addStatement("this.$N = $N", "service", "service");
+
+        // L'export NDJSON sérialise les entités avec l'ObjectMapper configuré par Spring
+        boolean ndjsonExport = config.isGenerateExportEndpoint()
+                && config.getExportFormat() != ApiGeneratorConfig.ExportFormat.CSV;
+        if (ndjsonExport) {
+            classBuilder.addField(FieldSpec.builder(GeneratedTypes.OBJECT_MAPPER, "objectMapper",
+                    Modifier.PRIVATE, Modifier.FINAL).build());
+            constructor.addParameter(GeneratedTypes.OBJECT_MAPPER, "objectMapper")
+                    .addStatement("this.$N = $N", "objectMapper", "objectMapper");
+        }
+        classBuilder.addMethod(constructor.build());
+
+        // Taille de page maximale, partagée par la liste paginée et l'endpoint par curseur
+        boolean keyset = KeysetSupport.isEnabled(entityModel, config);
+        FieldSpec maxPageSize = null;
+        if (config.isPaginateFindAll() || keyset) {
+            maxPageSize = FieldSpec.builder(TypeName.INT, "MAX_PAGE_SIZE",
+                            Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                    .initializer("$L", config.getEffectiveMaxPageSize())
+                    .build();
+            classBuilder.addField(maxPageSize);
+        }
 
         // Ajouter les méthodes REST
-        addGetAllMethod(classBuilder, entityClassName, dtoTypeName);
+        addGetAllMethod(classBuilder, entityClassName, dtoTypeName, config, maxPageSize);
+        if (keyset) {
+            addCursorMethods(classBuilder, entityModel, entityClassName, dtoTypeName, config, maxPageSize);
+        }
+        if (config.isGenerateExportEndpoint()) {
+            if (ndjsonExport) {
+                addNdjsonExportMethod(classBuilder);
+            } else {
+                addCsvExportMethods(classBuilder, entityModel);
+            }
+        }
         addGetByIdMethod(classBuilder, entityClassName, dtoTypeName, idType);
         addCreateMethod(classBuilder, entityClassName, dtoTypeName);
         addUpdateMethod(classBuilder, entityClassName, dtoTypeName, idType);
         addDeleteMethod(classBuilder, idType);
 
+        if (config.isGenerateBatchEndpoints()) {
+            addBatchMethods(classBuilder, entityClassName, dtoTypeName, idType, config);
+        }
+
+        if (config.isGenerateByIdsEndpoint() && entityModel.getIdField() != null) {
+            addByIdsMethods(classBuilder, entityModel, entityClassName, dtoTypeName, idType, config);
+        }
+
         // Créer le fichier Java
         JavaFile javaFile = JavaFile.builder(getGeneratedPackageName(entityModel, config), classBuilder.build())
                 .indent("    ")
@@ -137,91 +180,522 @@ public class ControllerGenerator implements CodeGenerator {
     private TypeName getIdTypeName(EntityModel entityModel) {
         // Utiliser le type du champ @Id s'il existe
         if (entityModel.getIdField() != null) {
-            String idType = entityModel.getIdField().getType();
-            return determineTypeName(idType);
+            // Type encadré : la clé sert d'argument générique (JpaRepository<E, ID>)
+            return TypeNameResolver.resolve(entityModel.getIdField()).box();
         }
 
         // Par défaut, utiliser Long
-        return ClassName.get("java.lang", "Long");
+        return TypeNameResolver.resolve("Long");
     }
 
     /**
-     * Convertit un nom de type Java en TypeName JavaPoet.
+     * Ajoute la méthode GET pour récupérer les entités. Avec la pagination, la taille de page demandée
+     * par le client est bornée par la constante MAX_PAGE_SIZE du Controller.
      */
-    private TypeName determineTypeName(String typeName) {
-        switch (typeName) {
-            case "boolean": return TypeName.BOOLEAN;
-            case "byte": return TypeName.BYTE;
-            case "short": return TypeName.SHORT;
-            case "int": return TypeName.INT;
-            case "long": return TypeName.LONG;
-            case "char": return TypeName.CHAR;
-            case "float": return TypeName.FLOAT;
-            case "double": return TypeName.DOUBLE;
-            case "Boolean": return TypeName.BOOLEAN.box();
-            case "Byte": return TypeName.BYTE.box();
-            case "Short": return TypeName.SHORT.box();
-            case "Integer": return TypeName.INT.box();
-            case "Long": return TypeName.LONG.box();
-            case "Character": return TypeName.CHAR.box();
-            case "Float": return TypeName.FLOAT.box();
-            case "Double": return TypeName.DOUBLE.box();
-            case "String": return ClassName.get("java.lang", "String");
-            case "BigDecimal": return ClassName.get("java.math", "BigDecimal");
-            case "BigInteger": return ClassName.get("java.math", "BigInteger");
-            case "LocalDate": return ClassName.get("java.time", "LocalDate");
-            case "LocalTime": return ClassName.get("java.time", "LocalTime");
-            case "LocalDateTime": return ClassName.get("java.time", "LocalDateTime");
-            case "ZonedDateTime": return ClassName.get("java.time", "ZonedDateTime");
-            case "Instant": return ClassName.get("java.time", "Instant");
-            default:
-                // Pour les autres types, supposer que c'est une classe Java
-                if (typeName.contains(".")) {
-                    String packageName = typeName.substring(0, typeName.lastIndexOf("."));
-                    String className = typeName.substring(typeName.lastIndexOf(".") + 1);
-                    return ClassName.get(packageName, className);
-                } else {
-                    return ClassName.get("java.lang", typeName);
-                }
+    private void addGetAllMethod(TypeSpec.Builder classBuilder, TypeName entityType, TypeName dtoType,
+                                 ApiGeneratorConfig config, FieldSpec maxPageSize) {
+        ClassName getMappingAnnotation = GeneratedTypes.GET_MAPPING;
+
+        if (!config.isPaginateFindAll()) {
+            TypeName returnType = ParameterizedTypeName.get(
+                    GeneratedTypes.RESPONSE_ENTITY,
+                    ParameterizedTypeName.get(GeneratedTypes.LIST, dtoType));
+
+            MethodSpec getAllMethod = MethodSpec.methodBuilder("getAll")
+                    .addModifiers(Modifier.PUBLIC)
+                    .addAnnotation(getMappingAnnotation)
+                    .returns(returnType)
+                    .addStatement("List<$T> entities = service.findAll()", entityType)
+                    .addStatement("// Ici, vous devez convertir les entités en DTOs si nécessaire")
+                    .addStatement("return $T.ok(entities)", GeneratedTypes.RESPONSE_ENTITY)
+                    .build();
+
+            classBuilder.addMethod(getAllMethod);
+            return;
         }
-    }
 
-    /**
-     * Ajoute la méthode GET pour récupérer toutes les entités.
-     */
-    private void addGetAllMethod(TypeSpec.Builder classBuilder, TypeName entityType, TypeName dtoType) {
+        ClassName pageType = config.isUseSlice() ? GeneratedTypes.SLICE : GeneratedTypes.PAGE;
         TypeName returnType = ParameterizedTypeName.get(
-                ClassName.get("org.springframework.http", "ResponseEntity"),
-                ParameterizedTypeName.get(ClassName.get(List.class), dtoType));
+                GeneratedTypes.RESPONSE_ENTITY,
+                ParameterizedTypeName.get(pageType, dtoType));
 
-        ClassName getMappingAnnotation = ClassName.get("org.springframework.web.bind.annotation", "GetMapping");
+        AnnotationSpec pageableDefault = AnnotationSpec.builder(GeneratedTypes.PAGEABLE_DEFAULT)
+                .addMember("size", "$L", config.getEffectiveDefaultPageSize())
+                .build();
 
         MethodSpec getAllMethod = MethodSpec.methodBuilder("getAll")
                 .addModifiers(Modifier.PUBLIC)
                 .addAnnotation(getMappingAnnotation)
+                .addParameter(ParameterSpec.builder(GeneratedTypes.PAGEABLE, "pageable")
+                        .addAnnotation(pageableDefault)
+                        .build())
                 .returns(returnType)
-                .addStatement("List<$T> entities = service.findAll()", entityType)
+                .addComment("Borner la taille de page demandée par le client")
+                .beginControlFlow("if (pageable.getPageSize() > $N)", maxPageSize)
+                .addStatement("pageable = $T.of(pageable.getPageNumber(), $N, pageable.getSort())",
+                        GeneratedTypes.PAGE_REQUEST, maxPageSize)
+                .endControlFlow()
+                .addStatement("$T<$T> entities = service.findAll(pageable)", pageType, entityType)
                 .addStatement("// Ici, vous devez convertir les entités en DTOs si nécessaire")
-                .addStatement("return $T.ok(entities)", ClassName.get("org.springframework.http", "ResponseEntity"))
+                .addStatement("return $T.ok(entities)", GeneratedTypes.RESPONSE_ENTITY)
                 .build();
 
         classBuilder.addMethod(getAllMethod);
     }
 
+    /**
+     * Ajoute l'endpoint GET /cursor : pagination par curseur, dont chaque page coûte autant que la première.
+     * Le curseur est opaque pour le client (valeurs de la dernière entité encodées en Base64) ;
+     * il est absent de la réponse lorsque la dernière page est atteinte.
+     */
+    private void addCursorMethods(TypeSpec.Builder classBuilder, EntityModel entityModel, TypeName entityType,
+                                  TypeName dtoType, ApiGeneratorConfig config, FieldSpec maxPageSize) {
+        EntityModel.EntityField idField = entityModel.getIdField();
+        EntityModel.EntityField sortField = KeysetSupport.getSortField(entityModel, config);
+        int cursorParts = sortField == null ? 1 : 2;
+
+        TypeSpec cursorPage = createCursorPageType();
+        classBuilder.addType(cursorPage);
+        ClassName cursorPageType = ClassName.get(getGeneratedPackageName(entityModel, config),
+                getGeneratedClassName(entityModel, config), cursorPage.name);
+
+        // Valeurs de la dernière entité qui forment le curseur, dans l'ordre du tri
+        CodeBlock cursorValues = sortField == null
+                ? CodeBlock.of("last.$N()", KeysetSupport.getterName(idField))
+                : CodeBlock.of("last.$N(), last.$N()", KeysetSupport.getterName(sortField), KeysetSupport.getterName(idField));
+
+        TypeName entityListType = ParameterizedTypeName.get(GeneratedTypes.LIST, entityType);
+        MethodSpec toCursorPage = MethodSpec.methodBuilder("toCursorPage")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .addParameter(entityListType, "entities")
+                .addParameter(TypeName.INT, "size")
+                .returns(ParameterizedTypeName.get(cursorPageType, entityType))
+                .beginControlFlow("if (entities.size() < size)")
+                .addStatement("return new $T<>(entities, null)", cursorPageType)
+                .endControlFlow()
+                .addStatement("$T last = entities.get(entities.size() - 1)", entityType)
+                .addStatement("return new $T<>(entities, encodeCursor($L))", cursorPageType, cursorValues)
+                .build();
+
+        AnnotationSpec afterParam = AnnotationSpec.builder(GeneratedTypes.REQUEST_PARAM)
+                .addMember("value", "$S", "after")
+                .addMember("required", "$L", false)
+                .build();
+        AnnotationSpec sizeParam = AnnotationSpec.builder(GeneratedTypes.REQUEST_PARAM)
+                .addMember("value", "$S", "size")
+                .addMember("defaultValue", "$S", String.valueOf(config.getEffectiveDefaultPageSize()))
+                .build();
+
+        MethodSpec.Builder getAfter = MethodSpec.methodBuilder("getAfter")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationSpec.builder(GeneratedTypes.GET_MAPPING)
+                        .addMember("value", "$S", "/cursor")
+                        .build())
+                .addParameter(ParameterSpec.builder(String.class, "after").addAnnotation(afterParam).build())
+                .addParameter(ParameterSpec.builder(TypeName.INT, "size").addAnnotation(sizeParam).build())
+                .returns(ParameterizedTypeName.get(GeneratedTypes.RESPONSE_ENTITY,
+                        ParameterizedTypeName.get(cursorPageType, dtoType)))
+                .addStatement("int limit = Math.max(1, Math.min(size, $N))", maxPageSize)
+                .addStatement("// Ici, vous devez convertir les entités en DTOs si nécessaire")
+                .beginControlFlow("if (after == null || after.isEmpty())")
+                .addStatement("return $T.ok(toCursorPage(service.$N(limit), limit))",
+                        GeneratedTypes.RESPONSE_ENTITY, KeysetSupport.FIRST_PAGE_METHOD)
+                .endControlFlow();
+
+        if (sortField != null) {
+            getAfter.addStatement("$T afterSort", KeysetSupport.cursorType(sortField));
+        }
+        getAfter.addStatement("$T afterId", KeysetSupport.cursorType(idField))
+                .beginControlFlow("try")
+                .addStatement("String[] cursor = decodeCursor(after, $L)", cursorParts);
+        if (sortField != null) {
+            getAfter.addStatement("afterSort = $L", KeysetSupport.parseExpression(sortField, "cursor[0]"));
+        }
+        getAfter.addStatement("afterId = $L", KeysetSupport.parseExpression(idField, "cursor[" + (cursorParts - 1) + "]"))
+                .nextControlFlow("catch ($T e)", RuntimeException.class)
+                .addComment("Curseur altéré ou produit par une autre version de l'API")
+                .addStatement("return $T.badRequest().build()", GeneratedTypes.RESPONSE_ENTITY)
+                .endControlFlow()
+                .addStatement(sortField == null
+                                ? "return $T.ok(toCursorPage(service.$N(afterId, limit), limit))"
+                                : "return $T.ok(toCursorPage(service.$N(afterSort, afterId, limit), limit))",
+                        GeneratedTypes.RESPONSE_ENTITY, KeysetSupport.PAGE_AFTER_METHOD);
+
+        MethodSpec encodeCursor = MethodSpec.methodBuilder("encodeCursor")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .addParameter(ArrayTypeName.of(Object.class), "values")
+                .varargs()
+                .returns(String.class)
+                .addStatement("$T cursor = new $T(\".\")", GeneratedTypes.STRING_JOINER, GeneratedTypes.STRING_JOINER)
+                .beginControlFlow("for (Object value : values)")
+                .addStatement("cursor.add($T.getUrlEncoder().withoutPadding()"
+                                + ".encodeToString(String.valueOf(value).getBytes($T.UTF_8)))",
+                        GeneratedTypes.BASE64, GeneratedTypes.STANDARD_CHARSETS)
+                .endControlFlow()
+                .addStatement("return cursor.toString()")
+                .build();
+
+        MethodSpec decodeCursor = MethodSpec.methodBuilder("decodeCursor")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .addParameter(String.class, "cursor")
+                .addParameter(TypeName.INT, "expectedParts")
+                .returns(String[].class)
+                .addStatement("String[] parts = cursor.split($S, -1)", "\\.")
+                .beginControlFlow("if (parts.length != expectedParts)")
+                .addStatement("throw new $T($S)", IllegalArgumentException.class, "Invalid cursor")
+                .endControlFlow()
+                .beginControlFlow("for (int i = 0; i < parts.length; i++)")
+                .addStatement("parts[i] = new String($T.getUrlDecoder().decode(parts[i]), $T.UTF_8)",
+                        GeneratedTypes.BASE64, GeneratedTypes.STANDARD_CHARSETS)
+                .endControlFlow()
+                .addStatement("return parts")
+                .build();
+
+        classBuilder.addMethod(getAfter.build());
+        classBuilder.addMethod(toCursorPage);
+        classBuilder.addMethod(encodeCursor);
+        classBuilder.addMethod(decodeCursor);
+    }
+
+    /**
+     * Ajoute les endpoints POST, PUT et DELETE /batch : une seule requête HTTP et une seule transaction
+     * pour tout un lot, dont la taille est bornée par MAX_BATCH_SIZE (413 au-delà).
+     */
+    private void addBatchMethods(TypeSpec.Builder classBuilder, TypeName entityType, TypeName dtoType,
+                                 TypeName idType, ApiGeneratorConfig config) {
+        FieldSpec maxBatchSize = FieldSpec.builder(TypeName.INT, "MAX_BATCH_SIZE",
+                        Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$L", Math.max(1, config.getMaxBatchSize()))
+                .build();
+        classBuilder.addField(maxBatchSize);
+
+        AnnotationSpec postMapping = AnnotationSpec.builder(GeneratedTypes.POST_MAPPING)
+                .addMember("value", "$S", "/batch")
+                .build();
+        classBuilder.addMethod(createSaveBatchMethod("createBatch", postMapping, entityType, dtoType, maxBatchSize,
+                CodeBlock.of("$T.status($T.CREATED)", GeneratedTypes.RESPONSE_ENTITY, GeneratedTypes.HTTP_STATUS)));
+
+        AnnotationSpec putMapping = AnnotationSpec.builder(GeneratedTypes.PUT_MAPPING)
+                .addMember("value", "$S", "/batch")
+                .build();
+        classBuilder.addMethod(createSaveBatchMethod("updateBatch", putMapping, entityType, dtoType, maxBatchSize,
+                CodeBlock.of("$T.ok()", GeneratedTypes.RESPONSE_ENTITY)));
+
+        TypeName idListType = ParameterizedTypeName.get(GeneratedTypes.LIST, idType);
+        MethodSpec deleteBatch = MethodSpec.methodBuilder("deleteBatch")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationSpec.builder(GeneratedTypes.DELETE_MAPPING)
+                        .addMember("value", "$S", "/batch")
+                        .build())
+                .addParameter(ParameterSpec.builder(idListType, "ids")
+                        .addAnnotation(GeneratedTypes.REQUEST_BODY)
+                        .build())
+                .returns(ParameterizedTypeName.get(GeneratedTypes.RESPONSE_ENTITY, GeneratedTypes.VOID))
+                .beginControlFlow("if (ids.size() > $N)", maxBatchSize)
+                .addStatement("return $T.status($T.PAYLOAD_TOO_LARGE).build()",
+                        GeneratedTypes.RESPONSE_ENTITY, GeneratedTypes.HTTP_STATUS)
+                .endControlFlow()
+                .addStatement("service.deleteAllById(ids)")
+                .addStatement("return $T.noContent().build()", GeneratedTypes.RESPONSE_ENTITY)
+                .build();
+        classBuilder.addMethod(deleteBatch);
+    }
+
+    /**
+     * Crée une méthode d'écriture en lot (création ou mise à jour), déléguée à {@code service.saveAll}.
+     */
+    private MethodSpec createSaveBatchMethod(String name, AnnotationSpec mapping, TypeName entityType, TypeName dtoType,
+                                             FieldSpec maxBatchSize, CodeBlock responseStatus) {
+        TypeName dtoListType = ParameterizedTypeName.get(GeneratedTypes.LIST, dtoType);
+        TypeName entityListType = ParameterizedTypeName.get(GeneratedTypes.LIST, entityType);
+
+        return MethodSpec.methodBuilder(name)
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(mapping)
+                .addParameter(ParameterSpec.builder(dtoListType, "dtos")
+                        .addAnnotation(GeneratedTypes.REQUEST_BODY)
+                        .build())
+                .returns(ParameterizedTypeName.get(GeneratedTypes.RESPONSE_ENTITY, dtoListType))
+                .beginControlFlow("if (dtos.size() > $N)", maxBatchSize)
+                .addStatement("return $T.status($T.PAYLOAD_TOO_LARGE).build()",
+                        GeneratedTypes.RESPONSE_ENTITY, GeneratedTypes.HTTP_STATUS)
+                .endControlFlow()
+                .addStatement("// Ici, vous devez convertir les DTOs en entités si nécessaire")
+                .addStatement("$T entities = new $T<>(dtos.size())", entityListType, GeneratedTypes.ARRAY_LIST)
+                .beginControlFlow("for ($T dto : dtos)", dtoType)
+                .addStatement("entities.add(($T) dto)", entityType)
+                .endControlFlow()
+                .addStatement("$T saved = service.saveAll(entities)", entityListType)
+                .addStatement("// Puis reconvertir en DTOs pour la réponse")
+                .addStatement("return $L.body(($T) saved)", responseStatus, dtoListType)
+                .build();
+    }
+
+    /**
+     * Ajoute les endpoints GET /by-ids?ids=... et POST /by-ids (pour les longues listes) : une seule requête
+     * SQL pour tous les identifiants. Les entités sont retournées dans l'ordre demandé (sans doublon)
+     * et les identifiants introuvables sont listés à part.
+     */
+    private void addByIdsMethods(TypeSpec.Builder classBuilder, EntityModel entityModel, TypeName entityType,
+                                 TypeName dtoType, TypeName idType, ApiGeneratorConfig config) {
+        FieldSpec maxIds = FieldSpec.builder(TypeName.INT, "MAX_IDS_PER_REQUEST",
+                        Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$L", Math.max(1, config.getMaxIdsPerRequest()))
+                .build();
+        classBuilder.addField(maxIds);
+
+        TypeSpec byIdsResult = createByIdsResultType();
+        classBuilder.addType(byIdsResult);
+        ClassName byIdsResultType = ClassName.get(getGeneratedPackageName(entityModel, config),
+                getGeneratedClassName(entityModel, config), byIdsResult.name);
+
+        TypeName idListType = ParameterizedTypeName.get(GeneratedTypes.LIST, idType);
+        TypeName returnType = ParameterizedTypeName.get(GeneratedTypes.RESPONSE_ENTITY,
+                ParameterizedTypeName.get(byIdsResultType, dtoType, idType));
+
+        MethodSpec findByIds = MethodSpec.methodBuilder("findByIds")
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(idListType, "ids")
+                .returns(returnType)
+                .beginControlFlow("if (ids.size() > $N)", maxIds)
+                .addStatement("return $T.status($T.PAYLOAD_TOO_LARGE).build()",
+                        GeneratedTypes.RESPONSE_ENTITY, GeneratedTypes.HTTP_STATUS)
+                .endControlFlow()
+                .addStatement("$T requested = new $T<>(ids)",
+                        ParameterizedTypeName.get(GeneratedTypes.SET, idType), GeneratedTypes.LINKED_HASH_SET)
+                .addStatement("$T found = new $T<>()",
+                        ParameterizedTypeName.get(GeneratedTypes.MAP, idType, entityType), GeneratedTypes.HASH_MAP)
+                .beginControlFlow("for ($T entity : service.findAllById(requested))", entityType)
+                .addStatement("found.put(entity.$N(), entity)", KeysetSupport.getterName(entityModel.getIdField()))
+                .endControlFlow()
+                .addComment("Rétablir l'ordre demandé et relever les identifiants introuvables")
+                .addStatement("$T items = new $T<>(found.size())",
+                        ParameterizedTypeName.get(GeneratedTypes.LIST, entityType), GeneratedTypes.ARRAY_LIST)
+                .addStatement("$T missingIds = new $T<>()", idListType, GeneratedTypes.ARRAY_LIST)
+                .beginControlFlow("for ($T id : requested)", idType)
+                .addStatement("$T entity = found.get(id)", entityType)
+                .beginControlFlow("if (entity != null)")
+                .addStatement("items.add(entity)")
+                .nextControlFlow("else")
+                .addStatement("missingIds.add(id)")
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("// Ici, vous devez convertir les entités en DTOs si nécessaire")
+                .addStatement("return $T.ok(new $T<>(items, missingIds))", GeneratedTypes.RESPONSE_ENTITY, byIdsResultType)
+                .build();
+
+        MethodSpec getByIds = MethodSpec.methodBuilder("getByIds")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationSpec.builder(GeneratedTypes.GET_MAPPING)
+                        .addMember("value", "$S", "/by-ids")
+                        .build())
+                .addParameter(ParameterSpec.builder(idListType, "ids")
+                        .addAnnotation(AnnotationSpec.builder(GeneratedTypes.REQUEST_PARAM)
+                                .addMember("value", "$S", "ids")
+                                .build())
+                        .build())
+                .returns(returnType)
+                .addStatement("return $N(ids)", findByIds)
+                .build();
+
+        MethodSpec postByIds = MethodSpec.methodBuilder("postByIds")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationSpec.builder(GeneratedTypes.POST_MAPPING)
+                        .addMember("value", "$S", "/by-ids")
+                        .build())
+                .addParameter(ParameterSpec.builder(idListType, "ids")
+                        .addAnnotation(GeneratedTypes.REQUEST_BODY)
+                        .build())
+                .returns(returnType)
+                .addStatement("return $N(ids)", findByIds)
+                .build();
+
+        classBuilder.addMethod(getByIds);
+        classBuilder.addMethod(postByIds);
+        classBuilder.addMethod(findByIds);
+    }
+
+    /**
+     * Crée la classe imbriquée ByIdsResult : les éléments trouvés et les identifiants introuvables.
+     */
+    private TypeSpec createByIdsResultType() {
+        TypeVariableName t = TypeVariableName.get("T");
+        TypeVariableName id = TypeVariableName.get("ID");
+        TypeName itemsType = ParameterizedTypeName.get(GeneratedTypes.LIST, t);
+        TypeName missingIdsType = ParameterizedTypeName.get(GeneratedTypes.LIST, id);
+
+        return TypeSpec.classBuilder("ByIdsResult")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addTypeVariable(t)
+                .addTypeVariable(id)
+                .addField(itemsType, "items", Modifier.PRIVATE, Modifier.FINAL)
+                .addField(missingIdsType, "missingIds", Modifier.PRIVATE, Modifier.FINAL)
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(itemsType, "items")
+                        .addParameter(missingIdsType, "missingIds")
+                        .addStatement("this.items = items")
+                        .addStatement("this.missingIds = missingIds")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("getItems")
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(itemsType)
+                        .addStatement("return items")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("getMissingIds")
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(missingIdsType)
+                        .addStatement("return missingIds")
+                        .build())
+                .build();
+    }
+
+    /**
+     * Ajoute l'endpoint GET /export au format NDJSON : une entité JSON par ligne, écrite au fil de la lecture.
+     * La réponse est produite après le retour de la méthode, par {@code StreamingResponseBody} ;
+     * la transaction de lecture est ouverte par le Service sur ce même thread.
+     */
+    private void addNdjsonExportMethod(TypeSpec.Builder classBuilder) {
+        CodeBlock writeEntity = CodeBlock.builder()
+                .addStatement("writer.write(objectMapper.writeValueAsString(entity))")
+                .addStatement("writer.write('\\n')")
+                .build();
+
+        classBuilder.addMethod(createExportMethod(CodeBlock.of(""), writeEntity,
+                CodeBlock.of("$T.parseMediaType($S)", GeneratedTypes.MEDIA_TYPE, "application/x-ndjson"), null));
+    }
+
+    /**
+     * Ajoute l'endpoint GET /export au format CSV. Les colonnes sont les champs simples de l'entité ;
+     * les relations et les collections sont ignorées.
+     */
+    private void addCsvExportMethods(TypeSpec.Builder classBuilder, EntityModel entityModel) {
+        StringJoiner header = new StringJoiner(",", "", "\n");
+        CodeBlock.Builder writeEntity = CodeBlock.builder();
+        boolean first = true;
+        for (EntityModel.EntityField field : entityModel.getFields()) {
+            if (field.isTransient() || field.isCollection() || field.getRelationshipType() != null) {
+                continue;
+            }
+            header.add(field.getName());
+            if (!first) {
+                writeEntity.addStatement("writer.write(',')");
+            }
+            writeEntity.addStatement("writer.write(csv(entity.$N()))", KeysetSupport.getterName(field));
+            first = false;
+        }
+        writeEntity.addStatement("writer.write('\\n')");
+
+        String fileName = entityModel.getClassName().toLowerCase() + "s.csv";
+        classBuilder.addMethod(createExportMethod(
+                CodeBlock.builder().addStatement("writer.write($S)", header.toString()).build(),
+                writeEntity.build(),
+                CodeBlock.of("$T.parseMediaType($S)", GeneratedTypes.MEDIA_TYPE, "text/csv"),
+                "attachment; filename=\"" + fileName + "\""));
+
+        MethodSpec csv = MethodSpec.methodBuilder("csv")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .addParameter(Object.class, "value")
+                .returns(String.class)
+                .beginControlFlow("if (value == null)")
+                .addStatement("return $S", "")
+                .endControlFlow()
+                .addStatement("String text = String.valueOf(value)")
+                .beginControlFlow("if (text.indexOf(',') >= 0 || text.indexOf('\"') >= 0 "
+                        + "|| text.indexOf('\\n') >= 0 || text.indexOf('\\r') >= 0)")
+                .addStatement("return $S + text.replace($S, $S) + $S", "\"", "\"", "\"\"", "\"")
+                .endControlFlow()
+                .addStatement("return text")
+                .build();
+        classBuilder.addMethod(csv);
+    }
+
+    /**
+     * Crée la méthode d'export : un {@code StreamingResponseBody} qui écrit l'en-tête puis chaque entité
+     * reçue du Service, sans jamais conserver l'ensemble des entités en mémoire.
+     */
+    private MethodSpec createExportMethod(CodeBlock writeHeader, CodeBlock writeEntity, CodeBlock mediaType,
+                                          String contentDisposition) {
+        CodeBlock.Builder body = CodeBlock.builder()
+                .add("$T body = out -> {\n$>", GeneratedTypes.STREAMING_RESPONSE_BODY)
+                .addStatement("$T writer = new $T(new $T(out, $T.UTF_8))",
+                        Writer.class, BufferedWriter.class, OutputStreamWriter.class, GeneratedTypes.STANDARD_CHARSETS)
+                .add(writeHeader)
+                .add("service.exportAll(entity -> {\n$>")
+                .beginControlFlow("try")
+                .add(writeEntity)
+                .nextControlFlow("catch ($T e)", IOException.class)
+                .addStatement("throw new $T(e)", UncheckedIOException.class)
+                .endControlFlow()
+                .add("$<});\n")
+                .addStatement("writer.flush()")
+                .add("$<};\n");
+
+        CodeBlock.Builder response = CodeBlock.builder()
+                .add("return $T.ok()\n$>$>", GeneratedTypes.RESPONSE_ENTITY)
+                .add(".contentType($L)\n", mediaType);
+        if (contentDisposition != null) {
+            response.add(".header($S, $S)\n", "Content-Disposition", contentDisposition);
+        }
+        response.add(".body(body);\n$<$<");
+
+        return MethodSpec.methodBuilder("export")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationSpec.builder(GeneratedTypes.GET_MAPPING)
+                        .addMember("value", "$S", "/export")
+                        .build())
+                .returns(ParameterizedTypeName.get(GeneratedTypes.RESPONSE_ENTITY, GeneratedTypes.STREAMING_RESPONSE_BODY))
+                .addCode(body.build())
+                .addCode(response.build())
+                .build();
+    }
+
+    /**
+     * Crée la classe imbriquée CursorPage : les éléments de la page et le curseur de la page suivante.
+     */
+    private TypeSpec createCursorPageType() {
+        TypeVariableName t = TypeVariableName.get("T");
+        TypeName itemsType = ParameterizedTypeName.get(GeneratedTypes.LIST, t);
+
+        return TypeSpec.classBuilder("CursorPage")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addTypeVariable(t)
+                .addField(itemsType, "items", Modifier.PRIVATE, Modifier.FINAL)
+                .addField(String.class, "nextCursor", Modifier.PRIVATE, Modifier.FINAL)
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(itemsType, "items")
+                        .addParameter(String.class, "nextCursor")
+                        .addStatement("this.items = items")
+                        .addStatement("this.nextCursor = nextCursor")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("getItems")
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(itemsType)
+                        .addStatement("return items")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("getNextCursor")
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(String.class)
+                        .addStatement("return nextCursor")
+                        .build())
+                .build();
+    }
+
     /**
      * Ajoute la méthode GET pour récupérer une entité par son ID.
      */
     private void addGetByIdMethod(TypeSpec.Builder classBuilder, TypeName entityType, TypeName dtoType, TypeName idType) {
         TypeName returnType = ParameterizedTypeName.get(
-                ClassName.get("org.springframework.http", "ResponseEntity"),
+                GeneratedTypes.RESPONSE_ENTITY,
                 dtoType);
 
-        ClassName getMapping = ClassName.get("org.springframework.web.bind.annotation", "GetMapping");
+        ClassName getMapping = GeneratedTypes.GET_MAPPING;
         AnnotationSpec getMappingAnnotation = AnnotationSpec.builder(getMapping)
                 .addMember("value", "$S", "/{id}")
                 .build();
 
-        ClassName pathVariable = ClassName.get("org.springframework.web.bind.annotation", "PathVariable");
+        ClassName pathVariable = GeneratedTypes.PATH_VARIABLE;
 
         MethodSpec getByIdMethod = MethodSpec.methodBuilder("getById")
                 .addModifiers(Modifier.PUBLIC)
@@ -231,8 +705,8 @@ public class ControllerGenerator implements CodeGenerator {
                         .build())
                 .returns(returnType)
                 .addStatement("return service.findById(id)")
-                .addStatement("    .map(entity -> $T.ok(entity))", ClassName.get("org.springframework.http", "ResponseEntity"))
-                .addStatement("    .orElseGet(() -> $T.notFound().build())", ClassName.get("org.springframework.http", "ResponseEntity"))
+                .addStatement("    .map(entity -> $T.ok(entity))", GeneratedTypes.RESPONSE_ENTITY)
+                .addStatement("    .orElseGet(() -> $T.notFound().build())", GeneratedTypes.RESPONSE_ENTITY)
                 .build();
 
         classBuilder.addMethod(getByIdMethod);
@@ -243,11 +717,11 @@ public class ControllerGenerator implements CodeGenerator {
      */
     private void addCreateMethod(TypeSpec.Builder classBuilder, TypeName entityType, TypeName dtoType) {
         TypeName returnType = ParameterizedTypeName.get(
-                ClassName.get("org.springframework.http", "ResponseEntity"),
+                GeneratedTypes.RESPONSE_ENTITY,
                 dtoType);
 
-        ClassName postMapping = ClassName.get("org.springframework.web.bind.annotation", "PostMapping");
-        ClassName requestBody = ClassName.get("org.springframework.web.bind.annotation", "RequestBody");
+        ClassName postMapping = GeneratedTypes.POST_MAPPING;
+        ClassName requestBody = GeneratedTypes.REQUEST_BODY;
 
         MethodSpec createMethod = MethodSpec.methodBuilder("create")
                 .addModifiers(Modifier.PUBLIC)
@@ -260,7 +734,7 @@ public class ControllerGenerator implements CodeGenerator {
                 .addStatement("$T savedEntity = service.save(($T) dto)", entityType, entityType)
                 .addStatement("// Puis reconvertir en DTO pour la réponse")
                 .addStatement("return $T.created(null).body(($T) savedEntity)",
-                        ClassName.get("org.springframework.http", "ResponseEntity"), dtoType)
+                        GeneratedTypes.RESPONSE_ENTITY, dtoType)
                 .build();
 
         classBuilder.addMethod(createMethod);
@@ -271,16 +745,16 @@ public class ControllerGenerator implements CodeGenerator {
      */
     private void addUpdateMethod(TypeSpec.Builder classBuilder, TypeName entityType, TypeName dtoType, TypeName idType) {
         TypeName returnType = ParameterizedTypeName.get(
-                ClassName.get("org.springframework.http", "ResponseEntity"),
+                GeneratedTypes.RESPONSE_ENTITY,
                 dtoType);
 
-        ClassName putMapping = ClassName.get("org.springframework.web.bind.annotation", "PutMapping");
+        ClassName putMapping = GeneratedTypes.PUT_MAPPING;
         AnnotationSpec putMappingAnnotation = AnnotationSpec.builder(putMapping)
                 .addMember("value", "$S", "/{id}")
                 .build();
 
-        ClassName pathVariable = ClassName.get("org.springframework.web.bind.annotation", "PathVariable");
-        ClassName requestBody = ClassName.get("org.springframework.web.bind.annotation", "RequestBody");
+        ClassName pathVariable = GeneratedTypes.PATH_VARIABLE;
+        ClassName requestBody = GeneratedTypes.REQUEST_BODY;
 
         MethodSpec updateMethod = MethodSpec.methodBuilder("update")
                 .addModifiers(Modifier.PUBLIC)
@@ -297,10 +771,10 @@ public class ControllerGenerator implements CodeGenerator {
                 .addStatement("        // Ici, mettre à jour l'entité existante avec les valeurs du DTO")
                 .addStatement("        $T updatedEntity = service.save(existingEntity)", entityType)
                 .addStatement("        return $T.ok(($T) updatedEntity)",
-                        ClassName.get("org.springframework.http", "ResponseEntity"), dtoType)
+                        GeneratedTypes.RESPONSE_ENTITY, dtoType)
                 .addStatement("    })")
                 .addStatement("    .orElseGet(() -> $T.notFound().build())",
-                        ClassName.get("org.springframework.http", "ResponseEntity"))
+                        GeneratedTypes.RESPONSE_ENTITY)
                 .build();
 
         classBuilder.addMethod(updateMethod);
@@ -311,15 +785,15 @@ public class ControllerGenerator implements CodeGenerator {
      */
     private void addDeleteMethod(TypeSpec.Builder classBuilder, TypeName idType) {
         TypeName returnType = ParameterizedTypeName.get(
-                ClassName.get("org.springframework.http", "ResponseEntity"),
-                ClassName.get("java.lang", "Void"));
+                GeneratedTypes.RESPONSE_ENTITY,
+                GeneratedTypes.VOID);
 
-        ClassName deleteMapping = ClassName.get("org.springframework.web.bind.annotation", "DeleteMapping");
+        ClassName deleteMapping = GeneratedTypes.DELETE_MAPPING;
         AnnotationSpec deleteMappingAnnotation = AnnotationSpec.builder(deleteMapping)
                 .addMember("value", "$S", "/{id}")
                 .build();
 
-        ClassName pathVariable = ClassName.get("org.springframework.web.bind.annotation", "PathVariable");
+        ClassName pathVariable = GeneratedTypes.PATH_VARIABLE;
 
         MethodSpec deleteMethod = MethodSpec.methodBuilder("delete")
                 .addModifiers(Modifier.PUBLIC)
@@ -330,7 +804,7 @@ public class ControllerGenerator implements CodeGenerator {
                 .returns(returnType)
                 .addStatement("service.deleteById(id)")
                 .addStatement("return $T.noContent().build()",
-                        ClassName.get("org.springframework.http", "ResponseEntity"))
+                        GeneratedTypes.RESPONSE_ENTITY)
                 .build();
 
         classBuilder.addMethod(deleteMethod);
@@ -3,13 +3,19 @@ package com.github.tky0065.apigenerator.service.impl;
 import com.github.tky0065.apigenerator.config.ApiGeneratorConfig;
 import com.github.tky0065.apigenerator.service.DependencyValidationService;
 import com.intellij.openapi.module.Module;
-import com.intellij.openapi.module.ModuleManager;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.UserDataHolder;
 import com.intellij.psi.JavaPsiFacade;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Implémentation du service de validation des dépendances.
@@ -51,13 +57,23 @@ public class DependencyValidationServiceImpl implements DependencyValidationServ
             "Lombok", "compileOnly 'org.projectlombok:lombok:1.18.28'\nannotationProcessor 'org.projectlombok:lombok:1.18.28'"
     );
 
+    // Statut des fonctionnalités par module (ou pour le projet), invalidé à chaque changement des racines
+    private static final Key<CachedValue<Map<String, Boolean>>> FEATURE_STATUS_KEY =
+            Key.create("apigenerator.dependencyStatus");
+
     @Override
     public DependencyValidationResult validateDependencies(Project project, ApiGeneratorConfig config) {
+        return validateDependencies(project, null, config);
+    }
+
+    @Override
+    public DependencyValidationResult validateDependencies(Project project, Module module, ApiGeneratorConfig config) {
+        Map<String, Boolean> featureStatus = getFeatureStatus(project, module);
         Map<String, Boolean> dependencyStatus = new HashMap<>();
         List<String> missingDependencies = new ArrayList<>();
 
         // Vérifier JPA Entity (obligatoire)
-        boolean hasJpaEntity = isFeatureAvailable(project, "JPA Entity");
+        boolean hasJpaEntity = isFeatureAvailable(project, module, "JPA Entity", featureStatus);
         dependencyStatus.put("JPA Entity", hasJpaEntity);
         if (!hasJpaEntity) {
             missingDependencies.add("JPA Entity");
@@ -65,7 +81,7 @@ public class DependencyValidationServiceImpl implements DependencyValidationServ
 
         // Vérifier Spring Data JPA (obligatoire si on génère des Repository)
         if (config.isGenerateRepository()) {
-            boolean hasSpringDataJpa = isFeatureAvailable(project, "Spring Data JPA");
+            boolean hasSpringDataJpa = isFeatureAvailable(project, module, "Spring Data JPA", featureStatus);
             dependencyStatus.put("Spring Data JPA", hasSpringDataJpa);
             if (!hasSpringDataJpa) {
                 missingDependencies.add("Spring Data JPA");
@@ -74,7 +90,7 @@ public class DependencyValidationServiceImpl implements DependencyValidationServ
 
         // Vérifier Spring Web (obligatoire si on génère des Controller)
         if (config.isGenerateController()) {
-            boolean hasSpringWeb = isFeatureAvailable(project, "Spring Web");
+            boolean hasSpringWeb = isFeatureAvailable(project, module, "Spring Web", featureStatus);
             dependencyStatus.put("Spring Web", hasSpringWeb);
             if (!hasSpringWeb) {
                 missingDependencies.add("Spring Web");
@@ -83,7 +99,7 @@ public class DependencyValidationServiceImpl implements DependencyValidationServ
 
         // Vérifier MapStruct (obligatoire si on génère des Mapper)
         if (config.isGenerateMapper()) {
-            boolean hasMapStruct = isFeatureAvailable(project, "MapStruct");
+            boolean hasMapStruct = isFeatureAvailable(project, module, "MapStruct", featureStatus);
             dependencyStatus.put("MapStruct", hasMapStruct);
             if (!hasMapStruct) {
                 missingDependencies.add("MapStruct");
@@ -92,7 +108,7 @@ public class DependencyValidationServiceImpl implements DependencyValidationServ
 
         // Vérifier Lombok (obligatoire si on génère des DTO avec Lombok)
         if (config.isGenerateDto() && config.isUseLombok()) {
-            boolean hasLombok = isFeatureAvailable(project, "Lombok");
+            boolean hasLombok = isFeatureAvailable(project, module, "Lombok", featureStatus);
             dependencyStatus.put("Lombok", hasLombok);
             if (!hasLombok) {
                 missingDependencies.add("Lombok");
@@ -103,33 +119,47 @@ public class DependencyValidationServiceImpl implements DependencyValidationServ
     }
 
     /**
-     * Vérifie si une fonctionnalité est disponible dans le classpath du projet.
+     * Retourne le cache du statut des fonctionnalités pour un module, ou pour le projet si le module est null.
+     */
+    private Map<String, Boolean> getFeatureStatus(Project project, Module module) {
+        UserDataHolder holder = module != null ? module : project;
+        return CachedValuesManager.getManager(project).getCachedValue(holder, FEATURE_STATUS_KEY,
+                () -> CachedValueProvider.Result.create(new ConcurrentHashMap<>(), ProjectRootManager.getInstance(project)),
+                false);
+    }
+
+    /**
+     * Vérifie si une fonctionnalité est disponible dans le classpath du module (ou du projet).
+     * Le classpath n'est interrogé qu'une fois par fonctionnalité tant que les racines ne changent pas.
      */
-    private boolean isFeatureAvailable(Project project, String featureName) {
+    private boolean isFeatureAvailable(Project project, Module module, String featureName,
+                                       Map<String, Boolean> featureStatus) {
         List<String> classNames = REQUIRED_CLASSES_BY_FEATURE.get(featureName);
         if (classNames == null || classNames.isEmpty()) {
             return true; // Pas de classes requises, on considère la fonctionnalité comme disponible
         }
 
+        GlobalSearchScope scope = module != null
+                ? GlobalSearchScope.moduleWithDependenciesAndLibrariesScope(module, false)
+                : GlobalSearchScope.allScope(project);
+
         // Pour les fonctionnalités avec plusieurs alternatives (ex: javax.persistence ou jakarta.persistence),
         // il suffit qu'une seule alternative soit disponible
-        return classNames.stream().anyMatch(className -> isClassAvailable(project, className));
+        return featureStatus.computeIfAbsent(featureName, feature ->
+                classNames.stream().anyMatch(className -> isClassAvailable(project, className, scope)));
     }
 
     @Override
     public boolean isClassAvailable(Project project, String className) {
-        JavaPsiFacade psiFacade = JavaPsiFacade.getInstance(project);
-        Module[] modules = ModuleManager.getInstance(project).getModules();
-
-        for (Module module : modules) {
-            GlobalSearchScope scope = GlobalSearchScope.moduleWithDependenciesAndLibrariesScope(module);
-            PsiClass psiClass = psiFacade.findClass(className, scope);
-            if (psiClass != null) {
-                return true;
-            }
-        }
+        return isClassAvailable(project, className, GlobalSearchScope.allScope(project));
+    }
 
-        return false;
+    /**
+     * Vérifie si une classe est disponible dans une portée de recherche.
+     */
+    private boolean isClassAvailable(Project project, String className, GlobalSearchScope scope) {
+        PsiClass psiClass = JavaPsiFacade.getInstance(project).findClass(className, scope);
+        return psiClass != null;
     }
 
     @Override
@@ -23,10 +23,10 @@ public class DtoGenerator implements CodeGenerator {
 
         // Ajouter les annotations Lombok si activé
         if (config.isUseLombok()) {
-            ClassName dataAnnotation = ClassName.get("lombok", "Data");
-            ClassName noArgsConstructorAnnotation = ClassName.get("lombok", "NoArgsConstructor");
-            ClassName allArgsConstructorAnnotation = ClassName.get("lombok", "AllArgsConstructor");
-            ClassName builderAnnotation = ClassName.get("lombok", "Builder");
+            ClassName dataAnnotation = GeneratedTypes.LOMBOK_DATA;
+            ClassName noArgsConstructorAnnotation = GeneratedTypes.LOMBOK_NO_ARGS_CONSTRUCTOR;
+            ClassName allArgsConstructorAnnotation = GeneratedTypes.LOMBOK_ALL_ARGS_CONSTRUCTOR;
+            ClassName builderAnnotation = GeneratedTypes.LOMBOK_BUILDER;
 
             classBuilder.addAnnotation(dataAnnotation);
             classBuilder.addAnnotation(noArgsConstructorAnnotation);
@@ -51,14 +51,14 @@ public class DtoGenerator implements CodeGenerator {
             // Gérer les collections
             if (field.isCollection() && field.getGenericType() != null) {
                 // Pour les collections, créer un type générique (List<String>, Set<Integer>, etc.)
-                ClassName collectionType = ClassName.get("java.util", field.getCollectionType());
-                TypeName genericType = determineTypeName(field.getGenericType());
+                ClassName collectionType = TypeNameResolver.className("java.util", field.getCollectionType());
+                TypeName genericType = TypeNameResolver.resolve(field.getGenericType());
                 TypeName parameterizedTypeName = ParameterizedTypeName.get(collectionType, genericType);
 
                 addField(classBuilder, field.getName(), parameterizedTypeName, config.isUseLombok());
             } else {
                 // Pour les types simples
-                TypeName typeName = determineTypeName(field.getType());
+                TypeName typeName = TypeNameResolver.resolve(field);
                 addField(classBuilder, field.getName(), typeName, config.isUseLombok());
             }
         }
@@ -100,37 +100,6 @@ public class DtoGenerator implements CodeGenerator {
         classBuilder.addField(fieldBuilder.build());
     }
 
-    private TypeName determineTypeName(String type) {
-        switch (type) {
-            case "int": return TypeName.INT;
-            case "long": return TypeName.LONG;
-            case "double": return TypeName.DOUBLE;
-            case "float": return TypeName.FLOAT;
-            case "boolean": return TypeName.BOOLEAN;
-            case "byte": return TypeName.BYTE;
-            case "char": return TypeName.CHAR;
-            case "short": return TypeName.SHORT;
-            case "Integer": return ClassName.get("java.lang", "Integer");
-            case "Long": return ClassName.get("java.lang", "Long");
-            case "Double": return ClassName.get("java.lang", "Double");
-            case "Float": return ClassName.get("java.lang", "Float");
-            case "Boolean": return ClassName.get("java.lang", "Boolean");
-            case "Byte": return ClassName.get("java.lang", "Byte");
-            case "Character": return ClassName.get("java.lang", "Character");
-            case "Short": return ClassName.get("java.lang", "Short");
-            case "String": return ClassName.get("java.lang", "String");
-            case "BigDecimal": return ClassName.get("java.math", "BigDecimal");
-            case "BigInteger": return ClassName.get("java.math", "BigInteger");
-            case "LocalDate": return ClassName.get("java.time", "LocalDate");
-            case "LocalDateTime": return ClassName.get("java.time", "LocalDateTime");
-            case "LocalTime": return ClassName.get("java.time", "LocalTime");
-            case "ZonedDateTime": return ClassName.get("java.time", "ZonedDateTime");
-            case "OffsetDateTime": return ClassName.get("java.time", "OffsetDateTime");
-            case "UUID": return ClassName.get("java.util", "UUID");
-            default: return ClassName.bestGuess(type);
-        }
-    }
-
     private void generateGettersAndSetters(TypeSpec.Builder classBuilder, EntityModel entityModel) {
         // Si Lombok n'est pas utilisé, générer les getters et setters manuellement
         for (EntityModel.EntityField field : entityModel.getFields()) {
@@ -148,11 +117,11 @@ public class DtoGenerator implements CodeGenerator {
                 capitalizedName = fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
                 typeName = TypeName.LONG.box();
             } else if (field.isCollection() && field.getGenericType() != null) {
-                ClassName collectionType = ClassName.get("java.util", field.getCollectionType());
-                TypeName genericType = determineTypeName(field.getGenericType());
+                ClassName collectionType = TypeNameResolver.className("java.util", field.getCollectionType());
+                TypeName genericType = TypeNameResolver.resolve(field.getGenericType());
                 typeName = ParameterizedTypeName.get(collectionType, genericType);
             } else {
-                typeName = determineTypeName(field.getType());
+                typeName = TypeNameResolver.resolve(field);
             }
 
             // Getter
@@ -2,14 +2,21 @@ package com.github.tky0065.apigenerator.service.impl;
 
 import com.github.tky0065.apigenerator.model.EntityModel;
 import com.github.tky0065.apigenerator.service.EntityAnalyzerService;
+import com.github.tky0065.apigenerator.service.EntityModelCache;
 import com.github.tky0065.apigenerator.util.PsiUtils;
+import com.github.tky0065.apigenerator.util.TypeResolutionCache;
+import com.intellij.openapi.util.Key;
 import com.intellij.psi.*;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 /**
  * Implémentation du service d'analyse d'entités JPA.
@@ -34,6 +41,12 @@ public class EntityAnalyzerServiceImpl implements EntityAnalyzerService {
     private static final String JAKARTA_MANY_TO_MANY_ANNOTATION = "jakarta.persistence.ManyToMany";
     private static final String JPA_ONE_TO_ONE_ANNOTATION = "javax.persistence.OneToOne";
     private static final String JAKARTA_ONE_TO_ONE_ANNOTATION = "jakarta.persistence.OneToOne";
+    private static final String JPA_MAPPED_SUPERCLASS_ANNOTATION = "javax.persistence.MappedSuperclass";
+    private static final String JAKARTA_MAPPED_SUPERCLASS_ANNOTATION = "jakarta.persistence.MappedSuperclass";
+
+    // Champs analysés d'une classe @MappedSuperclass et de ses ancêtres, partagés par toutes ses sous-classes
+    private static final Key<CachedValue<List<EntityModel.EntityField>>> MAPPED_SUPERCLASS_FIELDS_KEY =
+            Key.create("apigenerator.mappedSuperclassFields");
 
     @Override
     public boolean isJpaEntity(PsiClass psiClass) {
@@ -46,25 +59,16 @@ public class EntityAnalyzerServiceImpl implements EntityAnalyzerService {
     }
 
     @Override
-    public EntityModel analyzeEntity(PsiClass psiClass) {
+    public EntityModel analyzeEntity(PsiClass psiClass, TypeResolutionCache typeCache) {
         if (!isJpaEntity(psiClass)) {
             throw new IllegalArgumentException("La classe n'est pas une entité JPA valide: " + psiClass.getQualifiedName());
         }
 
-        List<EntityModel.EntityField> fields = new ArrayList<>();
-        EntityModel.EntityField idField = null;
-
-        // Collecte tous les champs, y compris ceux hérités
-        List<PsiField> allFields = getAllFields(psiClass);
-
-        for (PsiField field : allFields) {
-            if (field.hasModifierProperty(PsiModifier.STATIC) || field.hasModifierProperty(PsiModifier.FINAL)) {
-                continue;  // Ignorer les champs statiques et finals
-            }
-
-            EntityModel.EntityField entityField = analyzeField(field);
-            fields.add(entityField);
+        // Analyse tous les champs, y compris ceux hérités
+        List<EntityModel.EntityField> fields = collectEntityFields(psiClass, typeCache);
 
+        EntityModel.EntityField idField = null;
+        for (EntityModel.EntityField entityField : fields) {
             if (entityField.isId()) {
                 idField = entityField;
             }
@@ -76,12 +80,32 @@ public class EntityAnalyzerServiceImpl implements EntityAnalyzerService {
                 .className(psiClass.getName())
                 .packageName(((PsiJavaFile) psiClass.getContainingFile()).getPackageName())
                 .qualifiedName(psiClass.getQualifiedName())
+                .entityName(extractEntityName(psiClass))
                 .tableName(tableName)
                 .fields(fields)
                 .idField(idField)
+                .persistencePackage(PsiUtils.hasAnnotation(psiClass, JPA_ENTITY_ANNOTATION)
+                        ? "javax.persistence" : "jakarta.persistence")
                 .build();
     }
 
+    private String extractEntityName(PsiClass psiClass) {
+        // Le nom JPQL de l'entité peut être redéfini par l'attribut name de @Entity
+        PsiAnnotation entityAnnotation = psiClass.getAnnotation(JPA_ENTITY_ANNOTATION);
+        if (entityAnnotation == null) {
+            entityAnnotation = psiClass.getAnnotation(JAKARTA_ENTITY_ANNOTATION);
+        }
+
+        if (entityAnnotation != null) {
+            String name = PsiUtils.getAnnotationAttributeValue(entityAnnotation, "name");
+            if (name != null && !name.isEmpty()) {
+                return name.replaceAll("\"", "");
+            }
+        }
+
+        return psiClass.getName();
+    }
+
     private String extractTableName(PsiClass psiClass) {
         // Essayer d'extraire le nom de table de l'annotation @Table
         PsiAnnotation tableAnnotation = psiClass.getAnnotation("javax.persistence.Table");
@@ -101,13 +125,13 @@ public class EntityAnalyzerServiceImpl implements EntityAnalyzerService {
         return psiClass.getName().toLowerCase();
     }
 
-    private EntityModel.EntityField analyzeField(PsiField field) {
+    private EntityModel.EntityField analyzeField(PsiField field, TypeResolutionCache typeCache) {
         PsiType type = field.getType();
         String typeName = type.getPresentableText();
         String qualifiedTypeName = type.getCanonicalText();
-        boolean isCollection = PsiUtils.isCollectionType(type);
-        boolean isPrimitive = type instanceof PsiPrimitiveType;
-        boolean isEnum = isEnumType(type);
+
+        // Le type n'est résolu qu'une fois par session, quel que soit le nombre de champs qui l'utilisent
+        TypeResolutionCache.TypeInfo typeInfo = typeCache.classify(type);
 
         boolean isId = PsiUtils.hasAnnotation(field, JPA_ID_ANNOTATION) ||
                        PsiUtils.hasAnnotation(field, JAKARTA_ID_ANNOTATION);
@@ -125,28 +149,20 @@ public class EntityAnalyzerServiceImpl implements EntityAnalyzerService {
         // Extraire le nom de colonne de l'annotation @Column
         String columnName = extractColumnName(field);
 
-        String collectionType = null;
-        String genericType = null;
-
-        if (isCollection) {
-            collectionType = extractCollectionType(type);
-            genericType = extractGenericType(type);
-        }
-
         return EntityModel.EntityField.builder()
                 .name(field.getName())
                 .type(typeName)
                 .qualifiedType(qualifiedTypeName)
                 .columnName(columnName)
-                .isPrimitive(isPrimitive)
-                .isCollection(isCollection)
-                .isEnum(isEnum)
+                .isPrimitive(typeInfo.isPrimitive())
+                .isCollection(typeInfo.isCollection())
+                .isEnum(typeInfo.isEnumType())
                 .isId(isId)
                 .isTransient(isTransient)
                 .isVersion(isVersion)
                 .relationshipType(relationshipType)
-                .collectionType(collectionType)
-                .genericType(genericType)
+                .collectionType(typeInfo.getCollectionType())
+                .genericType(typeInfo.getGenericType())
                 .build();
     }
 
@@ -193,65 +209,52 @@ public class EntityAnalyzerServiceImpl implements EntityAnalyzerService {
         return null;
     }
 
-    private List<PsiField> getAllFields(PsiClass psiClass) {
-        List<PsiField> result = new ArrayList<>();
-        collectFields(psiClass, result);
-        return result;
-    }
-
-    private void collectFields(PsiClass psiClass, List<PsiField> fields) {
-        if (psiClass == null) {
-            return;
-        }
-
-        fields.addAll(Arrays.asList(psiClass.getFields()));
-
-        // Récupère également les champs privés
-        fields.addAll(Arrays.stream(psiClass.getAllFields())
-                .filter(f -> f.hasModifierProperty(PsiModifier.PRIVATE))
-                .collect(Collectors.toList()));
+    /**
+     * Analyse les champs d'une classe puis ceux de ses super-classes, en un seul parcours de la hiérarchie.
+     * Chaque champ n'est analysé qu'une fois ; une super-classe @MappedSuperclass fournit ses champs
+     * (et ceux de ses ancêtres) depuis un cache partagé par toutes les entités qui en héritent.
+     */
+    private List<EntityModel.EntityField> collectEntityFields(PsiClass psiClass, TypeResolutionCache typeCache) {
+        List<EntityModel.EntityField> result = new ArrayList<>();
+        Set<PsiField> seenFields = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<PsiClass> visitedClasses = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (PsiClass current = psiClass;
+             current != null && !CommonClassNames.JAVA_LANG_OBJECT.equals(current.getQualifiedName())
+                     && visitedClasses.add(current);
+             current = current.getSuperClass()) {
+            if (current != psiClass && isMappedSuperclass(current)) {
+                result.addAll(getMappedSuperclassFields(current, typeCache));
+                break;
+            }
 
-        // Parcourir la hiérarchie des classes
-        PsiClass superClass = psiClass.getSuperClass();
-        if (superClass != null && !"java.lang.Object".equals(superClass.getQualifiedName())) {
-            collectFields(superClass, fields);
+            // getFields() ne retourne que les champs déclarés par la classe
+            for (PsiField field : current.getFields()) {
+                if (!seenFields.add(field)
+                        || field.hasModifierProperty(PsiModifier.STATIC) || field.hasModifierProperty(PsiModifier.FINAL)) {
+                    continue;  // Ignorer les doublons et les champs statiques et finals
+                }
+                result.add(analyzeField(field, typeCache));
+            }
         }
+        return result;
     }
 
-    private boolean isEnumType(PsiType type) {
-        if (!(type instanceof PsiClassType)) {
-            return false;
-        }
-
-        PsiClass psiClass = ((PsiClassType) type).resolve();
-        return psiClass != null && psiClass.isEnum();
+    private boolean isMappedSuperclass(PsiClass psiClass) {
+        return PsiUtils.hasAnnotation(psiClass, JPA_MAPPED_SUPERCLASS_ANNOTATION) ||
+               PsiUtils.hasAnnotation(psiClass, JAKARTA_MAPPED_SUPERCLASS_ANNOTATION);
     }
 
-    private String extractCollectionType(PsiType type) {
-        if (!(type instanceof PsiClassType)) {
-            return null;
-        }
-
-        PsiClass psiClass = ((PsiClassType) type).resolve();
-        if (psiClass == null) {
-            return null;
-        }
-
-        return psiClass.getName();
-    }
-
-    private String extractGenericType(PsiType type) {
-        if (!(type instanceof PsiClassType)) {
-            return null;
-        }
-
-        PsiClassType classType = (PsiClassType) type;
-        PsiType[] parameters = classType.getParameters();
-
-        if (parameters.length > 0) {
-            return parameters[0].getPresentableText();
-        }
-
-        return null;
+    /**
+     * Retourne les champs analysés d'une classe @MappedSuperclass et de ses ancêtres.
+     * Le résultat est invalidé avec les mêmes dépendances que les modèles d'entités ;
+     * les champs sont partagés entre les entités qui héritent de la classe et ne doivent pas être modifiés.
+     */
+    private List<EntityModel.EntityField> getMappedSuperclassFields(PsiClass mappedSuperclass,
+                                                                    TypeResolutionCache typeCache) {
+        return CachedValuesManager.getCachedValue(mappedSuperclass, MAPPED_SUPERCLASS_FIELDS_KEY, () ->
+                CachedValueProvider.Result.create(
+                        Collections.unmodifiableList(collectEntityFields(mappedSuperclass, typeCache)),
+                        EntityModelCache.getDependencies(mappedSuperclass.getProject())));
     }
 }
@@ -3,6 +3,7 @@ package com.github.tky0065.apigenerator.service.impl;
 import com.github.tky0065.apigenerator.model.EntityModel;
 import com.github.tky0065.apigenerator.service.EntityValidationService;
 import com.github.tky0065.apigenerator.util.PsiUtils;
+import com.github.tky0065.apigenerator.util.TypeResolutionCache;
 import com.intellij.psi.*;
 import com.intellij.psi.util.PsiUtil;
 
@@ -17,7 +18,7 @@ import java.util.List;
 public class EntityValidationServiceImpl implements EntityValidationService {
 
     @Override
-    public ValidationResult validateEntity(PsiClass psiClass) {
+    public ValidationResult validateEntity(PsiClass psiClass, TypeResolutionCache typeCache) {
         List<String> errors = new ArrayList<>();
         List<String> warnings = new ArrayList<>();
 
@@ -85,14 +86,14 @@ public class EntityValidationServiceImpl implements EntityValidationService {
         for (PsiField field : psiClass.getAllFields()) {
             if (PsiUtils.hasAnnotation(field, "javax.persistence.OneToMany")
                     || PsiUtils.hasAnnotation(field, "jakarta.persistence.OneToMany")) {
-                if (!PsiUtils.isCollectionType(field.getType())) {
+                if (!typeCache.classify(field.getType()).isCollection()) {
                     errors.add("Le champ '" + field.getName() + "' est annoté avec @OneToMany mais n'est pas une collection.");
                 }
             }
 
             if (PsiUtils.hasAnnotation(field, "javax.persistence.ManyToMany")
                     || PsiUtils.hasAnnotation(field, "jakarta.persistence.ManyToMany")) {
-                if (!PsiUtils.isCollectionType(field.getType())) {
+                if (!typeCache.classify(field.getType()).isCollection()) {
                     errors.add("Le champ '" + field.getName() + "' est annoté avec @ManyToMany mais n'est pas une collection.");
                 }
             }
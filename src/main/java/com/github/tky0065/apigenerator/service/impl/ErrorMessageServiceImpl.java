@@ -109,4 +109,53 @@ public class ErrorMessageServiceImpl implements ErrorMessageService {
 
         return new Message(MessageType.INFO, code, title, description, suggestions);
     }
+
+    @Override
+    public Message getGenerationSuccessMessage(int writtenCount, int unchangedCount) {
+        String title = "Génération réussie";
+        String code = "GENERATION_SUCCESS";
+
+        String description = writtenCount + " fichier(s) ont été générés avec succès.";
+        if (unchangedCount > 0) {
+            description += "\n" + unchangedCount + " fichier(s) identique(s) n'ont pas été réécrits.";
+        }
+
+        List<String> suggestions = Collections.singletonList(
+                "N'oubliez pas de vérifier la présence de toutes les dépendances nécessaires dans votre projet"
+        );
+
+        return new Message(MessageType.INFO, code, title, description, suggestions);
+    }
+
+    @Override
+    public Message getBatchGenerationMessage(int entityCount, int writtenCount, int skippedCount, int unchangedCount,
+                                             List<String> failures, double entitiesPerSecond) {
+        boolean hasFailures = failures != null && !failures.isEmpty();
+        String title = hasFailures ? "Génération en lot terminée avec des erreurs" : "Génération en lot réussie";
+        String code = hasFailures ? "BATCH_GENERATION_PARTIAL" : "BATCH_GENERATION_SUCCESS";
+
+        StringBuilder description = new StringBuilder();
+        description.append(entityCount).append(" entité(s) traitée(s), ")
+                .append(writtenCount).append(" fichier(s) écrit(s), ")
+                .append(unchangedCount).append(" fichier(s) inchangé(s), ")
+                .append(skippedCount).append(" fichier(s) ignoré(s).\n")
+                .append(String.format("Débit : %.1f entités/s", entitiesPerSecond)).append("\n");
+
+        if (hasFailures) {
+            description.append("\nEntités en échec :\n");
+            for (String failure : failures) {
+                description.append("• ").append(failure).append("\n");
+            }
+        }
+
+        List<String> suggestions = hasFailures
+                ? Arrays.asList(
+                        "Consultez le journal de l'IDE pour le détail des erreurs",
+                        "Relancez la génération sur les entités en échec individuellement")
+                : Collections.singletonList(
+                        "Les fichiers modifiés manuellement n'ont pas été remplacés");
+
+        return new Message(hasFailures ? MessageType.WARNING : MessageType.INFO, code, title,
+                description.toString(), suggestions);
+    }
 }
@@ -1,16 +1,18 @@
 package com.github.tky0065.apigenerator.service.impl;
 
 import com.github.tky0065.apigenerator.service.ExistingFileService;
+import com.github.tky0065.apigenerator.service.GenerationManifest;
 import com.github.tky0065.apigenerator.service.LoggingService;
+import com.github.tky0065.apigenerator.service.SourceRootResolver;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VfsUtil;
+import com.intellij.openapi.vfs.VfsUtilCore;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiDirectory;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiManager;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -93,27 +95,21 @@ public class ExistingFileServiceImpl implements ExistingFileService {
 
     @Override
     public boolean isFileManuallyModified(Project project, PsiFile file) {
-        if (file == null) {
+        if (file == null || file.getVirtualFile() == null) {
             return false;
         }
 
         try {
-            // Lire le contenu du fichier
-            String content = new String(file.getVirtualFile().contentsToByteArray(), StandardCharsets.UTF_8);
-
-            // Vérifier si le fichier contient notre signature (indiquant qu'il a été généré par le plugin)
-            // Si la signature est absente ou si le fichier a été modifié après génération, on considère qu'il a été modifié manuellement
-            boolean hasSignature = content.contains(GENERATED_SIGNATURE);
-            if (!hasSignature) {
-                return true; // Pas notre signature, probablement créé manuellement
+            // Comparer le fichier avec l'empreinte enregistrée lors de sa génération
+            Boolean modified = GenerationManifest.getInstance(project).isModifiedSinceGeneration(file.getVirtualFile());
+            if (modified == null) {
+                // Fichier absent du manifeste : s'il porte la signature, il a été généré par une version antérieure
+                // du plugin et suit le comportement par défaut (son empreinte sera enregistrée à la prochaine écriture),
+                // sinon il a été créé manuellement
+                loggingService.debug(project, () -> "File not found in generation manifest: " + file.getName());
+                return !VfsUtilCore.loadText(file.getVirtualFile()).startsWith(GENERATED_SIGNATURE);
             }
-
-            // Vérifier la date de dernière modification
-            long lastModified = file.getVirtualFile().getTimeStamp();
-
-            // Si le fichier a été modifié dans les dernières 24h, considérer qu'il a été modifié manuellement
-            // (heuristique simple qui pourrait être améliorée)
-            return System.currentTimeMillis() - lastModified < 24 * 60 * 60 * 1000;
+            return modified;
         } catch (IOException e) {
             loggingService.error(project, "Error checking if file is manually modified: " + e.getMessage(), e);
             // En cas de doute, mieux vaut être prudent et considérer le fichier comme modifié manuellement
@@ -145,33 +141,11 @@ public class ExistingFileServiceImpl implements ExistingFileService {
     }
 
     /**
-     * Trouve un fichier Java dans le projet.
+     * Trouve un fichier Java dans le projet à partir des index (toutes les racines de sources de tous les modules).
      */
     private PsiFile findFile(Project project, String packageName, String className) {
-        // Convertir le package en chemin de répertoire
-        String packagePath = packageName.replace('.', '/');
-
-        // Rechercher dans les répertoires sources du projet
-        PsiManager psiManager = PsiManager.getInstance(project);
-        VirtualFile baseDir = project.getBaseDir();
-
-        if (baseDir == null) {
-            return null;
-        }
-
-        // Chercher dans src/main/java
-        VirtualFile srcDir = baseDir.findFileByRelativePath("src/main/java");
-        if (srcDir != null) {
-            VirtualFile packageDir = srcDir.findFileByRelativePath(packagePath);
-            if (packageDir != null) {
-                VirtualFile file = packageDir.findChild(className + ".java");
-                if (file != null) {
-                    return psiManager.findFile(file);
-                }
-            }
-        }
-
-        return null;
+        VirtualFile file = SourceRootResolver.getInstance(project).findExistingFile(packageName, className, null);
+        return file != null ? PsiManager.getInstance(project).findFile(file) : null;
     }
 
     /**
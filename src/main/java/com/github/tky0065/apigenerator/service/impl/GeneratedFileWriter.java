@@ -0,0 +1,120 @@
+package com.github.tky0065.apigenerator.service.impl;
+
+import com.github.tky0065.apigenerator.model.GeneratedFile;
+import com.github.tky0065.apigenerator.service.GenerationManifest;
+import com.github.tky0065.apigenerator.service.LoggingService;
+import com.github.tky0065.apigenerator.service.SourceRootResolver;
+import com.github.tky0065.apigenerator.util.ContentHashUtils;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+
+import java.io.IOException;
+
+/**
+ * Écrit les fichiers générés dans les sources du projet.
+ * Le contenu est écrit directement dans le {@link VirtualFile} cible, sans passer par un parsing PSI :
+ * l'indexation et la PSI sont mises à jour par la plateforme à partir des événements VFS.
+ * Les méthodes de cette classe doivent être appelées dans une commande d'écriture.
+ */
+public class GeneratedFileWriter {
+
+    /**
+     * Résultat de l'écriture d'un fichier.
+     */
+    public enum WriteStatus {
+        CREATED,    // Le fichier n'existait pas
+        UPDATED,    // Le contenu du fichier a été remplacé
+        UNCHANGED   // Le contenu était identique, le fichier n'a pas été touché
+    }
+
+    private final LoggingService loggingService;
+
+    public GeneratedFileWriter(LoggingService loggingService) {
+        this.loggingService = loggingService;
+    }
+
+    /**
+     * Écrit un fichier généré, en remplaçant la version existante le cas échéant.
+     * Un fichier existant est recherché dans tout le projet ; un nouveau fichier est créé dans le module de l'entité.
+     * Un fichier dont le contenu est identique n'est pas réécrit, pour ne pas invalider les index,
+     * déclencher une recompilation ou modifier le statut VCS.
+     *
+     * @param project le projet
+     * @param file le fichier à écrire
+     * @return le résultat de l'écriture
+     * @throws IOException si le répertoire ou le fichier ne peut pas être créé ou écrit
+     */
+    public WriteStatus write(Project project, GeneratedFile file) throws IOException {
+        String fileName = file.getClassName() + ".java";
+
+        // Ajouter une signature au contenu généré
+        String contentWithSignature = ExistingFileServiceImpl.addGeneratedSignature(file.getContent());
+
+        GenerationManifest manifest = GenerationManifest.getInstance(project);
+        SourceRootResolver resolver = SourceRootResolver.getInstance(project);
+        Module module = file.getModuleName() != null
+                ? ModuleManager.getInstance(project).findModuleByName(file.getModuleName())
+                : null;
+
+        // Rechercher le fichier existant via les index, sinon le créer dans le package du module de l'entité
+        VirtualFile target = resolver.findExistingFile(file.getPackageName(), file.getClassName(), module);
+        VirtualFile directory = null;
+        if (target == null) {
+            directory = resolver.getOrCreatePackageDirectory(module, file.getPackageName());
+            target = directory.findChild(fileName);
+        }
+        if (target == null) {
+            target = directory.createChildData(this, fileName);
+            byte[] content = contentWithSignature.getBytes(target.getCharset());
+            target.setBinaryContent(content);
+            manifest.record(target, content);
+            loggingService.info(project, "File created successfully: " + fileName);
+            return WriteStatus.CREATED;
+        }
+
+        FileDocumentManager documentManager = FileDocumentManager.getInstance();
+        Document document = documentManager.getCachedDocument(target);
+        boolean hasUnsavedChanges = document != null && documentManager.isDocumentUnsaved(document);
+        byte[] newContent = contentWithSignature.getBytes(target.getCharset());
+        String newHash = ContentHashUtils.hash(newContent);
+
+        // Fichier intact depuis sa dernière écriture : l'empreinte du manifeste suffit, le fichier n'est pas relu
+        String recordedHash = hasUnsavedChanges ? null : manifest.getHashIfUntouched(target);
+        if (recordedHash != null) {
+            if (recordedHash.equals(newHash)) {
+                loggingService.debug(project, () -> "File unchanged, skipping write: " + fileName);
+                return WriteStatus.UNCHANGED;
+            }
+        } else {
+            // Comparer avec le contenu existant (celui du document s'il est ouvert, sinon celui du disque)
+            byte[] existingContent = document != null
+                    ? document.getText().getBytes(target.getCharset())
+                    : target.contentsToByteArray();
+            if (ContentHashUtils.isSameContent(newContent, existingContent)) {
+                if (!hasUnsavedChanges) {
+                    manifest.recordHash(target, newHash);
+                }
+                loggingService.debug(project, () -> "File unchanged, skipping write: " + fileName);
+                return WriteStatus.UNCHANGED;
+            }
+        }
+
+        // Si le fichier est ouvert, passer par son document pour ne pas créer de conflit avec l'éditeur
+        if (document != null) {
+            document.setText(contentWithSignature);
+            documentManager.saveDocument(document);
+            // L'enregistrement du document peut adapter les fins de ligne : relire le contenu écrit
+            manifest.record(target, target.contentsToByteArray());
+        } else {
+            target.setBinaryContent(newContent);
+            manifest.recordHash(target, newHash);
+        }
+
+        loggingService.info(project, "File replaced successfully: " + fileName);
+        return WriteStatus.UPDATED;
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.tky0065.apigenerator.service.impl;
+
+import com.github.tky0065.apigenerator.model.EntityModel;
+import com.squareup.javapoet.ClassName;
+
+/**
+ * Types des bibliothèques référencés par le code généré.
+ * Les instances {@link ClassName} sont immuables : elles sont créées une seule fois et partagées par tous les générateurs.
+ */
+public final class GeneratedTypes {
+
+    // Java
+    public static final ClassName LIST = ClassName.get("java.util", "List");
+    public static final ClassName ARRAY_LIST = ClassName.get("java.util", "ArrayList");
+    public static final ClassName COLLECTION = ClassName.get("java.util", "Collection");
+    public static final ClassName SET = ClassName.get("java.util", "Set");
+    public static final ClassName LINKED_HASH_SET = ClassName.get("java.util", "LinkedHashSet");
+    public static final ClassName MAP = ClassName.get("java.util", "Map");
+    public static final ClassName HASH_MAP = ClassName.get("java.util", "HashMap");
+    public static final ClassName OPTIONAL = ClassName.get("java.util", "Optional");
+    public static final ClassName VOID = ClassName.get("java.lang", "Void");
+    public static final ClassName BASE64 = ClassName.get("java.util", "Base64");
+    public static final ClassName STRING_JOINER = ClassName.get("java.util", "StringJoiner");
+    public static final ClassName STANDARD_CHARSETS = ClassName.get("java.nio.charset", "StandardCharsets");
+    public static final ClassName STREAM = ClassName.get("java.util.stream", "Stream");
+    public static final ClassName CONSUMER = ClassName.get("java.util.function", "Consumer");
+
+    // Spring
+    public static final ClassName SERVICE = ClassName.get("org.springframework.stereotype", "Service");
+    public static final ClassName REPOSITORY = ClassName.get("org.springframework.stereotype", "Repository");
+    public static final ClassName PAGE = ClassName.get("org.springframework.data.domain", "Page");
+    public static final ClassName SLICE = ClassName.get("org.springframework.data.domain", "Slice");
+    public static final ClassName PAGEABLE = ClassName.get("org.springframework.data.domain", "Pageable");
+    public static final ClassName PAGE_REQUEST = ClassName.get("org.springframework.data.domain", "PageRequest");
+    public static final ClassName PAGEABLE_DEFAULT = ClassName.get("org.springframework.data.web", "PageableDefault");
+    public static final ClassName QUERY = ClassName.get("org.springframework.data.jpa.repository", "Query");
+    public static final ClassName PARAM = ClassName.get("org.springframework.data.repository.query", "Param");
+    public static final ClassName QUERY_HINTS = ClassName.get("org.springframework.data.jpa.repository", "QueryHints");
+    public static final ClassName TRANSACTIONAL = ClassName.get("org.springframework.transaction.annotation", "Transactional");
+    public static final ClassName JPA_REPOSITORY = ClassName.get("org.springframework.data.jpa.repository", "JpaRepository");
+    public static final ClassName HTTP_STATUS = ClassName.get("org.springframework.http", "HttpStatus");
+    public static final ClassName MEDIA_TYPE = ClassName.get("org.springframework.http", "MediaType");
+    public static final ClassName STREAMING_RESPONSE_BODY = ClassName.get("org.springframework.web.servlet.mvc.method.annotation", "StreamingResponseBody");
+    public static final ClassName RESPONSE_ENTITY = ClassName.get("org.springframework.http", "ResponseEntity");
+    public static final ClassName REST_CONTROLLER = ClassName.get("org.springframework.web.bind.annotation", "RestController");
+    public static final ClassName REQUEST_MAPPING = ClassName.get("org.springframework.web.bind.annotation", "RequestMapping");
+    public static final ClassName GET_MAPPING = ClassName.get("org.springframework.web.bind.annotation", "GetMapping");
+    public static final ClassName POST_MAPPING = ClassName.get("org.springframework.web.bind.annotation", "PostMapping");
+    public static final ClassName PUT_MAPPING = ClassName.get("org.springframework.web.bind.annotation", "PutMapping");
+    public static final ClassName DELETE_MAPPING = ClassName.get("org.springframework.web.bind.annotation", "DeleteMapping");
+    public static final ClassName PATH_VARIABLE = ClassName.get("org.springframework.web.bind.annotation", "PathVariable");
+    public static final ClassName REQUEST_PARAM = ClassName.get("org.springframework.web.bind.annotation", "RequestParam");
+    public static final ClassName REQUEST_BODY = ClassName.get("org.springframework.web.bind.annotation", "RequestBody");
+
+    // Jackson
+    public static final ClassName OBJECT_MAPPER = ClassName.get("com.fasterxml.jackson.databind", "ObjectMapper");
+
+    // Lombok
+    public static final ClassName LOMBOK_DATA = ClassName.get("lombok", "Data");
+    public static final ClassName LOMBOK_NO_ARGS_CONSTRUCTOR = ClassName.get("lombok", "NoArgsConstructor");
+    public static final ClassName LOMBOK_ALL_ARGS_CONSTRUCTOR = ClassName.get("lombok", "AllArgsConstructor");
+    public static final ClassName LOMBOK_BUILDER = ClassName.get("lombok", "Builder");
+
+    // MapStruct
+    public static final ClassName MAPSTRUCT_MAPPER = ClassName.get("org.mapstruct", "Mapper");
+
+    // Package JPA retenu lorsque l'entité ne précise pas le sien (Spring Boot 3)
+    private static final String DEFAULT_PERSISTENCE_PACKAGE = "jakarta.persistence";
+
+    private GeneratedTypes() {
+        // Classe de constantes, ne doit pas être instanciée
+    }
+
+    /**
+     * Retourne un type JPA dans le package utilisé par l'entité (javax ou jakarta).
+     *
+     * @param entityModel l'entité
+     * @param simpleName le nom simple du type, par exemple {@code EntityManager}
+     * @return le nom de classe JavaPoet
+     */
+    public static ClassName persistence(EntityModel entityModel, String simpleName) {
+        String persistencePackage = entityModel.getPersistencePackage();
+        return TypeNameResolver.className(persistencePackage != null ? persistencePackage : DEFAULT_PERSISTENCE_PACKAGE,
+                simpleName);
+    }
+}
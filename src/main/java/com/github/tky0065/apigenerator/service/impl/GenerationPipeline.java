@@ -0,0 +1,168 @@
+package com.github.tky0065.apigenerator.service.impl;
+
+import com.github.tky0065.apigenerator.config.ApiGeneratorConfig;
+import com.github.tky0065.apigenerator.model.EntityModel;
+import com.github.tky0065.apigenerator.model.GeneratedFile;
+import com.github.tky0065.apigenerator.model.GenerationResult;
+import com.github.tky0065.apigenerator.service.CodeGenerator;
+import com.intellij.openapi.progress.util.ProgressIndicatorUtils;
+import com.intellij.openapi.project.Project;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+
+/**
+ * Pipeline de génération des différentes couches d'une entité.
+ * Chaque couche est un nœud qui déclare les couches dont elle dépend ; les nœuds indépendants
+ * s'exécutent en parallèle sur l'exécuteur fourni. Ajouter un nouveau type de fichier consiste
+ * à enregistrer un nœud dans {@link #createDefault()}.
+ */
+public class GenerationPipeline {
+
+    /**
+     * Nœud du pipeline : un générateur, sa condition d'activation et ses dépendances.
+     * Une dépendance vers une couche désactivée est ignorée.
+     */
+    public static final class Node {
+        private final String type;
+        private final CodeGenerator generator;
+        private final Predicate<ApiGeneratorConfig> enabledCondition;
+        private final List<String> dependencies;
+
+        private Node(String type, CodeGenerator generator, Predicate<ApiGeneratorConfig> enabledCondition,
+                     List<String> dependencies) {
+            this.type = type;
+            this.generator = generator;
+            this.enabledCondition = enabledCondition;
+            this.dependencies = dependencies;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public CodeGenerator getGenerator() {
+            return generator;
+        }
+
+        /**
+         * @return true si la couche est générée avec cette configuration
+         */
+        public boolean isEnabled(ApiGeneratorConfig config) {
+            return enabledCondition.test(config);
+        }
+
+        public List<String> getDependencies() {
+            return dependencies;
+        }
+
+        private GeneratedFile generate(Project project, EntityModel entityModel, ApiGeneratorConfig config,
+                                       Map<String, Long> timings) {
+            long start = System.nanoTime();
+            GeneratedFile file = new GeneratedFile(
+                    type,
+                    generator.getGeneratedPackageName(entityModel, config),
+                    generator.getGeneratedClassName(entityModel, config),
+                    generator.generateCode(project, entityModel, config),
+                    null
+            );
+            timings.put(type, System.nanoTime() - start);
+            return file;
+        }
+    }
+
+    private final Map<String, Node> nodes = new LinkedHashMap<>();
+
+    /**
+     * Crée le pipeline des couches générées par le plugin.
+     * Chaque générateur ne lit que le modèle de l'entité et la configuration : les couches ne dépendent
+     * pas du résultat les unes des autres et sont toutes générées en parallèle.
+     */
+    public static GenerationPipeline createDefault() {
+        return new GenerationPipeline()
+                .register("DTO", new DtoGenerator(), ApiGeneratorConfig::isGenerateDto)
+                .register("Mapper", new MapperGenerator(), c -> c.isGenerateMapper() && c.isGenerateDto())
+                .register("Repository", new RepositoryGenerator(), ApiGeneratorConfig::isGenerateRepository)
+                .register("Service", new ServiceGenerator(), ApiGeneratorConfig::isGenerateService)
+                .register("Controller", new ControllerGenerator(), ApiGeneratorConfig::isGenerateController);
+    }
+
+    /**
+     * Enregistre un nœud. Ses dépendances doivent avoir été enregistrées auparavant, ce qui garantit l'absence de cycle.
+     *
+     * @param type le type de fichier généré
+     * @param generator le générateur (sans état, partagé entre les exécutions)
+     * @param enabledCondition la condition d'activation selon la configuration
+     * @param dependencies les types dont ce nœud dépend
+     * @return ce pipeline
+     */
+    public GenerationPipeline register(String type, CodeGenerator generator,
+                                       Predicate<ApiGeneratorConfig> enabledCondition, String... dependencies) {
+        if (nodes.containsKey(type)) {
+            throw new IllegalArgumentException("Type de fichier déjà enregistré : " + type);
+        }
+        for (String dependency : dependencies) {
+            if (!nodes.containsKey(dependency)) {
+                throw new IllegalArgumentException("Dépendance inconnue pour " + type + " : " + dependency);
+            }
+        }
+
+        nodes.put(type, new Node(type, generator, enabledCondition, List.of(dependencies)));
+        return this;
+    }
+
+    /**
+     * @return les nœuds enregistrés, dans l'ordre d'enregistrement
+     */
+    public List<Node> getNodes() {
+        return Collections.unmodifiableList(new ArrayList<>(nodes.values()));
+    }
+
+    /**
+     * Exécute les nœuds activés par la configuration. Un nœud démarre dès que ses dépendances sont terminées.
+     * Doit être appelé depuis un thread d'arrière-plan ; l'attente est interrompue si la progression est annulée.
+     *
+     * @param project le projet IntelliJ courant
+     * @param entityModel le modèle de l'entité
+     * @param config la configuration du générateur
+     * @param executor l'exécuteur des nœuds (un exécuteur direct donne une exécution séquentielle)
+     * @return le résultat de la génération
+     */
+    public GenerationResult run(Project project, EntityModel entityModel, ApiGeneratorConfig config, Executor executor) {
+        long start = System.nanoTime();
+        Map<String, CompletableFuture<GeneratedFile>> futures = new LinkedHashMap<>();
+        Map<String, Long> timings = new ConcurrentHashMap<>();
+
+        try {
+            for (Node node : nodes.values()) {
+                if (!node.isEnabled(config)) {
+                    continue;
+                }
+
+                CompletableFuture<?>[] dependencies = node.dependencies.stream()
+                        .map(futures::get)
+                        .filter(Objects::nonNull)
+                        .toArray(CompletableFuture[]::new);
+                futures.put(node.type, CompletableFuture.allOf(dependencies)
+                        .thenApplyAsync(ignored -> node.generate(project, entityModel, config, timings), executor));
+            }
+
+            List<GeneratedFile> files = new ArrayList<>(futures.size());
+            for (CompletableFuture<GeneratedFile> future : futures.values()) {
+                files.add(ProgressIndicatorUtils.awaitWithCheckCanceled(future));
+            }
+            return new GenerationResult(files, System.nanoTime() - start, timings);
+        } finally {
+            // En cas d'annulation ou d'erreur, ne pas laisser les nœuds restants s'exécuter
+            futures.values().forEach(future -> future.cancel(false));
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.github.tky0065.apigenerator.service.impl;
+
+import com.github.tky0065.apigenerator.config.ApiGeneratorConfig;
+import com.github.tky0065.apigenerator.model.EntityModel;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.TypeName;
+
+import java.util.Map;
+
+/**
+ * Pagination par curseur (keyset) partagée par le Repository, le Service et le Controller générés.
+ * La page suivante est lue avec {@code WHERE id > :dernierId ORDER BY id} (ou sur le couple champ de tri, id)
+ * au lieu d'un OFFSET : son coût ne dépend pas de la profondeur de la page.
+ * Les trois générateurs s'appuient sur cette classe pour décider si l'endpoint est généré et avec quelles méthodes.
+ */
+public final class KeysetSupport {
+
+    // Nom de la méthode du Service qui lit la première page
+    public static final String FIRST_PAGE_METHOD = "findFirstPage";
+    // Nom de la méthode du Service (et de la méthode @Query du Repository, avec un champ de tri)
+    // qui lit la page suivant un curseur
+    public static final String PAGE_AFTER_METHOD = "findPageAfter";
+
+    // Types utilisables dans un curseur et expression qui reconstruit la valeur depuis sa forme textuelle
+    private static final Map<TypeName, String> CURSOR_PARSERS = Map.ofEntries(
+            Map.entry(TypeNameResolver.resolve("String"), "$L"),
+            Map.entry(TypeNameResolver.resolve("Long"), "$T.valueOf($L)"),
+            Map.entry(TypeNameResolver.resolve("Integer"), "$T.valueOf($L)"),
+            Map.entry(TypeNameResolver.resolve("Short"), "$T.valueOf($L)"),
+            Map.entry(TypeNameResolver.resolve("Double"), "$T.valueOf($L)"),
+            Map.entry(TypeNameResolver.resolve("Float"), "$T.valueOf($L)"),
+            Map.entry(TypeNameResolver.resolve("BigDecimal"), "new $T($L)"),
+            Map.entry(TypeNameResolver.resolve("BigInteger"), "new $T($L)"),
+            Map.entry(TypeNameResolver.resolve("UUID"), "$T.fromString($L)"),
+            Map.entry(TypeNameResolver.resolve("LocalDate"), "$T.parse($L)"),
+            Map.entry(TypeNameResolver.resolve("LocalTime"), "$T.parse($L)"),
+            Map.entry(TypeNameResolver.resolve("LocalDateTime"), "$T.parse($L)"),
+            Map.entry(TypeNameResolver.resolve("OffsetDateTime"), "$T.parse($L)"),
+            Map.entry(TypeNameResolver.resolve("ZonedDateTime"), "$T.parse($L)"),
+            Map.entry(TypeNameResolver.resolve("Instant"), "$T.parse($L)")
+    );
+
+    private KeysetSupport() {
+        // Classe utilitaire, ne doit pas être instanciée
+    }
+
+    /**
+     * Indique si l'endpoint par curseur doit être généré pour l'entité : l'option doit être activée
+     * et la clé primaire doit être un type simple, comparable et sérialisable dans un curseur.
+     *
+     * @param entityModel l'entité
+     * @param config la configuration
+     * @return true si l'endpoint est généré
+     */
+    public static boolean isEnabled(EntityModel entityModel, ApiGeneratorConfig config) {
+        return config.isGenerateKeysetEndpoint()
+                && entityModel.getIdField() != null
+                && isCursorType(entityModel.getIdField());
+    }
+
+    /**
+     * Retourne le champ de tri du curseur : le champ configuré s'il existe dans l'entité et s'il est
+     * d'un type utilisable dans un curseur, sinon null (tri sur la seule clé primaire).
+     *
+     * @param entityModel l'entité
+     * @param config la configuration
+     * @return le champ de tri, ou null
+     */
+    public static EntityModel.EntityField getSortField(EntityModel entityModel, ApiGeneratorConfig config) {
+        String sortFieldName = config.getKeysetSortField();
+        if (sortFieldName == null || sortFieldName.isBlank() || entityModel.getFields() == null) {
+            return null;
+        }
+
+        for (EntityModel.EntityField field : entityModel.getFields()) {
+            if (sortFieldName.trim().equals(field.getName())) {
+                boolean usable = !field.isId() && !field.isTransient() && !field.isCollection()
+                        && field.getRelationshipType() == null && isCursorType(field);
+                return usable ? field : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return le nom de la méthode du Repository qui lit la première page
+     */
+    public static String getRepositoryFirstPageMethod(EntityModel entityModel, EntityModel.EntityField sortField) {
+        String idName = capitalize(entityModel.getIdField().getName());
+        if (sortField == null) {
+            return "findAllByOrderBy" + idName + "Asc";
+        }
+        return "findAllByOrderBy" + capitalize(sortField.getName()) + "Asc" + idName + "Asc";
+    }
+
+    /**
+     * @return le nom de la méthode du Repository qui lit la page suivant un curseur
+     */
+    public static String getRepositoryPageAfterMethod(EntityModel entityModel, EntityModel.EntityField sortField) {
+        if (sortField != null) {
+            return PAGE_AFTER_METHOD;
+        }
+        String idName = capitalize(entityModel.getIdField().getName());
+        return "findBy" + idName + "GreaterThanOrderBy" + idName + "Asc";
+    }
+
+    /**
+     * @return le nom de l'accesseur d'un champ dans l'entité (is pour les booléens primitifs)
+     */
+    public static String getterName(EntityModel.EntityField field) {
+        String prefix = "boolean".equals(field.getType()) ? "is" : "get";
+        return prefix + capitalize(field.getName());
+    }
+
+    /**
+     * Construit l'expression qui reconstruit la valeur d'un champ depuis sa forme textuelle dans le curseur.
+     *
+     * @param field le champ
+     * @param textExpression l'expression de type String contenant la valeur
+     * @return l'expression du type du champ
+     */
+    public static CodeBlock parseExpression(EntityModel.EntityField field, String textExpression) {
+        TypeName type = cursorType(field);
+        String parser = CURSOR_PARSERS.get(type);
+        if ("$L".equals(parser)) {
+            return CodeBlock.of(parser, textExpression);
+        }
+        return CodeBlock.of(parser, type, textExpression);
+    }
+
+    /**
+     * @return le type encadré du champ, tel qu'utilisé dans les signatures générées
+     */
+    public static TypeName cursorType(EntityModel.EntityField field) {
+        return TypeNameResolver.resolve(field).box();
+    }
+
+    private static boolean isCursorType(EntityModel.EntityField field) {
+        TypeName type = cursorType(field);
+        return type instanceof ClassName && CURSOR_PARSERS.containsKey(type);
+    }
+
+    private static String capitalize(String input) {
+        return input.substring(0, 1).toUpperCase() + input.substring(1);
+    }
+}
@@ -1,71 +1,81 @@
 package com.github.tky0065.apigenerator.service.impl;
 
+import com.github.tky0065.apigenerator.service.GenerationMetrics;
 import com.github.tky0065.apigenerator.service.LoggingService;
+import com.github.tky0065.apigenerator.service.StructuredLogSink;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.project.Project;
-import com.intellij.util.ExceptionUtil;
 
-import java.text.SimpleDateFormat;
-import java.util.Arrays;
-import java.util.Date;
-import java.util.stream.Collectors;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Supplier;
 
 /**
  * Implémentation du service de journalisation.
  * Utilise le système de logs d'IntelliJ IDEA et garde une trace des actions importantes.
+ * Les messages ne sont mis en forme que si leur niveau est actif ; le journal structuré
+ * optionnel est écrit en arrière-plan par {@link StructuredLogSink}.
  */
 public class LoggingServiceImpl implements LoggingService {
 
     private static final Logger LOG = Logger.getInstance(LoggingServiceImpl.class);
-    private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+    // DateTimeFormatter est immuable : partageable entre les threads de génération
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
 
     @Override
     public void info(Project project, String message) {
         LOG.info(formatMessage(project, message));
+        toStructuredLog(project, LogLevel.INFO, message, null);
     }
 
     @Override
     public void debug(Project project, String message) {
-        LOG.debug(formatMessage(project, message));
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(formatMessage(project, message));
+            toStructuredLog(project, LogLevel.DEBUG, message, null);
+        }
+    }
+
+    @Override
+    public void debug(Project project, Supplier<String> messageSupplier) {
+        if (LOG.isDebugEnabled()) {
+            debug(project, messageSupplier.get());
+        }
     }
 
     @Override
     public void warn(Project project, String message) {
         LOG.warn(formatMessage(project, message));
+        toStructuredLog(project, LogLevel.WARN, message, null);
     }
 
     @Override
     public void error(Project project, String message, Throwable throwable) {
         LOG.error(formatMessage(project, message), throwable);
+        toStructuredLog(project, LogLevel.ERROR, message, throwable);
     }
 
     @Override
     public void error(Project project, String message) {
         LOG.error(formatMessage(project, message));
+        toStructuredLog(project, LogLevel.ERROR, message, null);
     }
 
     @Override
     public void logAction(Project project, String actionName, String details) {
-        String message = String.format("Action: %s - %s", actionName, details);
-        info(project, message);
+        info(project, "Action: " + actionName + " - " + details);
     }
 
     @Override
     public void logGeneration(Project project, String entityName, String[] generatedTypes, int count) {
-        String types = Arrays.stream(generatedTypes)
-                .collect(Collectors.joining(", "));
-
-        String message = String.format("Generated %d file(s) for entity '%s'. Types: [%s]",
-                count, entityName, types);
-
-        info(project, message);
+        info(project, "Generated " + count + " file(s) for entity '" + entityName + "'. Types: ["
+                + String.join(", ", generatedTypes) + "]");
     }
 
     @Override
     public void logEntityValidation(Project project, String entityName, boolean isValid, String details) {
         String status = isValid ? "valid" : "invalid";
-        String message = String.format("Entity '%s' validation: %s - %s",
-                entityName, status, details);
+        String message = "Entity '" + entityName + "' validation: " + status + " - " + details;
 
         if (isValid) {
             info(project, message);
@@ -74,6 +84,26 @@ public class LoggingServiceImpl implements LoggingService {
         }
     }
 
+    @Override
+    public void logTiming(Project project, String phase, long elapsedNanos) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(formatMessage(project, "Phase '" + phase + "' took " + elapsedNanos / 1_000 + " µs"));
+        }
+        if (project != null && !project.isDisposed()) {
+            GenerationMetrics.getInstance(project).recordTiming(phase, elapsedNanos);
+            if (StructuredLogSink.isEnabled()) {
+                StructuredLogSink.getInstance(project).logTiming(phase, elapsedNanos);
+            }
+        }
+    }
+
+    @Override
+    public void logCount(Project project, String counter, long delta) {
+        if (project != null && !project.isDisposed()) {
+            GenerationMetrics.getInstance(project).increment(counter, delta);
+        }
+    }
+
     /**
      * Formate un message de log avec des informations contextuelles.
      */
@@ -81,7 +111,7 @@ public class LoggingServiceImpl implements LoggingService {
         StringBuilder builder = new StringBuilder();
 
         // Ajouter l'horodatage
-        builder.append("[").append(DATE_FORMAT.format(new Date())).append("] ");
+        builder.append("[").append(DATE_FORMAT.format(LocalDateTime.now())).append("] ");
 
         // Ajouter l'identifiant du projet si disponible
         if (project != null) {
@@ -93,4 +123,13 @@ public class LoggingServiceImpl implements LoggingService {
 
         return builder.toString();
     }
+
+    /**
+     * Transmet le message au journal structuré s'il est activé ; l'écriture se fait en arrière-plan.
+     */
+    private void toStructuredLog(Project project, LogLevel level, String message, Throwable throwable) {
+        if (project != null && !project.isDisposed() && StructuredLogSink.isEnabled()) {
+            StructuredLogSink.getInstance(project).log(level, message, throwable);
+        }
+    }
 }
@@ -21,19 +21,19 @@ public class MapperGenerator implements CodeGenerator {
         }
 
         // Obtenir le nom complet de la classe d'entité
-        ClassName entityClassName = ClassName.get(entityModel.getPackageName(), entityModel.getClassName());
+        ClassName entityClassName = TypeNameResolver.className(entityModel.getPackageName(), entityModel.getClassName());
 
         // Obtenir le nom complet de la classe DTO
         String dtoPackageName = getDtoPackageName(entityModel, config);
         String dtoClassName = entityModel.getClassName() + config.getDtoSuffix();
-        ClassName dtoTypeName = ClassName.get(dtoPackageName, dtoClassName);
+        ClassName dtoTypeName = TypeNameResolver.className(dtoPackageName, dtoClassName);
 
         // Créer l'interface Mapper
         TypeSpec.Builder interfaceBuilder = TypeSpec.interfaceBuilder(getGeneratedClassName(entityModel, config))
                 .addModifiers(Modifier.PUBLIC);
 
         // Ajouter les annotations MapStruct
-        ClassName mapperAnnotation = ClassName.get("org.mapstruct", "Mapper");
+        ClassName mapperAnnotation = GeneratedTypes.MAPSTRUCT_MAPPER;
         AnnotationSpec.Builder mapperAnnotationBuilder = AnnotationSpec.builder(mapperAnnotation)
                 .addMember("componentModel", "$S", "spring");
 
@@ -119,7 +119,7 @@ public class MapperGenerator implements CodeGenerator {
      */
     private void addEntityListToDto(TypeSpec.Builder interfaceBuilder, ClassName entityType, ClassName dtoType) {
         // Créer les types paramétrés pour les listes
-        ClassName listClassName = ClassName.get("java.util", "List");
+        ClassName listClassName = GeneratedTypes.LIST;
         TypeName entityListType = ParameterizedTypeName.get(listClassName, entityType);
         TypeName dtoListType = ParameterizedTypeName.get(listClassName, dtoType);
 
@@ -137,7 +137,7 @@ public class MapperGenerator implements CodeGenerator {
      */
     private void addDtoListToEntity(TypeSpec.Builder interfaceBuilder, ClassName entityType, ClassName dtoType) {
         // Créer les types paramétrés pour les listes
-        ClassName listClassName = ClassName.get("java.util", "List");
+        ClassName listClassName = GeneratedTypes.LIST;
         TypeName entityListType = ParameterizedTypeName.get(listClassName, entityType);
         TypeName dtoListType = ParameterizedTypeName.get(listClassName, dtoType);
 
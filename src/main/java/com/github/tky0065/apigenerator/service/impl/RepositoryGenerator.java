@@ -19,8 +19,8 @@ public class RepositoryGenerator implements CodeGenerator {
         TypeName idType = getIdTypeName(entityModel);
 
         // Créer l'interface Repository
-        ClassName entityClassName = ClassName.get(entityModel.getPackageName(), entityModel.getClassName());
-        ClassName jpaRepositoryClassName = ClassName.get("org.springframework.data.jpa.repository", "JpaRepository");
+        ClassName entityClassName = TypeNameResolver.className(entityModel.getPackageName(), entityModel.getClassName());
+        ClassName jpaRepositoryClassName = GeneratedTypes.JPA_REPOSITORY;
 
         // Créer le type paramétré JpaRepository<Entity, IdType>
         TypeName superInterface = ParameterizedTypeName.get(jpaRepositoryClassName, entityClassName, idType);
@@ -30,12 +30,26 @@ public class RepositoryGenerator implements CodeGenerator {
                 .addSuperinterface(superInterface);
 
         // Ajouter des annotations Spring
-        ClassName repositoryAnnotation = ClassName.get("org.springframework.stereotype", "Repository");
+        ClassName repositoryAnnotation = GeneratedTypes.REPOSITORY;
         interfaceBuilder.addAnnotation(repositoryAnnotation);
 
         // Ajouter des méthodes de recherche personnalisées basées sur les champs de l'entité
         addCustomQueryMethods(interfaceBuilder, entityModel);
 
+        // Lecture paginée sans comptage, utilisée par le Service lorsque la liste est un Slice
+        if (config.isPaginateFindAll() && config.isUseSlice()) {
+            addFindAllSliceMethod(interfaceBuilder, entityClassName);
+        }
+
+        if (KeysetSupport.isEnabled(entityModel, config)) {
+            addKeysetMethods(interfaceBuilder, entityModel, entityClassName, idType,
+                    KeysetSupport.getSortField(entityModel, config));
+        }
+
+        if (config.isGenerateExportEndpoint()) {
+            addStreamAllMethod(interfaceBuilder, entityModel, entityClassName, config);
+        }
+
         // Créer le fichier Java
         JavaFile javaFile = JavaFile.builder(getGeneratedPackageName(entityModel, config), interfaceBuilder.build())
                 .indent("    ")
@@ -69,12 +83,12 @@ public class RepositoryGenerator implements CodeGenerator {
     private TypeName getIdTypeName(EntityModel entityModel) {
         // Utiliser le type du champ @Id s'il existe
         if (entityModel.getIdField() != null) {
-            String idType = entityModel.getIdField().getType();
-            return determineTypeName(idType);
+            // Type encadré : la clé sert d'argument générique (JpaRepository<E, ID>)
+            return TypeNameResolver.resolve(entityModel.getIdField()).box();
         }
 
         // Par défaut, utiliser Long
-        return ClassName.get("java.lang", "Long");
+        return TypeNameResolver.resolve("Long");
     }
 
     /**
@@ -93,8 +107,8 @@ public class RepositoryGenerator implements CodeGenerator {
                 String methodName = "findBy" + capitalizeFirstLetter(field.getName()) + "ContainingIgnoreCase";
 
                 TypeName returnType = ParameterizedTypeName.get(
-                        ClassName.get("java.util", "List"),
-                        ClassName.get(entityModel.getPackageName(), entityModel.getClassName())
+                        GeneratedTypes.LIST,
+                        TypeNameResolver.className(entityModel.getPackageName(), entityModel.getClassName())
                 );
 
                 MethodSpec method = MethodSpec.methodBuilder(methodName)
@@ -110,14 +124,14 @@ public class RepositoryGenerator implements CodeGenerator {
                 String methodName = "findBy" + capitalizeFirstLetter(field.getName());
 
                 TypeName returnType = ParameterizedTypeName.get(
-                        ClassName.get("java.util", "List"),
-                        ClassName.get(entityModel.getPackageName(), entityModel.getClassName())
+                        GeneratedTypes.LIST,
+                        TypeNameResolver.className(entityModel.getPackageName(), entityModel.getClassName())
                 );
 
                 MethodSpec method = MethodSpec.methodBuilder(methodName)
                         .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
                         .returns(returnType)
-                        .addParameter(determineTypeName(field.getType()), field.getName())
+                        .addParameter(TypeNameResolver.resolve(field), field.getName())
                         .build();
 
                 interfaceBuilder.addMethod(method);
@@ -125,41 +139,103 @@ public class RepositoryGenerator implements CodeGenerator {
         }
     }
 
+    /**
+     * Ajoute la méthode {@code findAllBy(Pageable)} : Spring Data ne lit alors qu'une ligne de plus
+     * que la taille de page pour savoir s'il existe une page suivante, au lieu de compter toute la table.
+     */
+    private void addFindAllSliceMethod(TypeSpec.Builder interfaceBuilder, ClassName entityClassName) {
+        MethodSpec method = MethodSpec.methodBuilder("findAllBy")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .returns(ParameterizedTypeName.get(GeneratedTypes.SLICE, entityClassName))
+                .addParameter(GeneratedTypes.PAGEABLE, "pageable")
+                .build();
+
+        interfaceBuilder.addMethod(method);
+    }
+
+    /**
+     * Ajoute les méthodes de pagination par curseur. Sans champ de tri, ce sont des requêtes dérivées
+     * sur la clé primaire ; avec un champ de tri, la page suivante est une requête JPQL sur le couple
+     * (champ de tri, clé primaire), qui doit être couvert par un index pour rester à coût constant.
+     */
+    private void addKeysetMethods(TypeSpec.Builder interfaceBuilder, EntityModel entityModel, ClassName entityClassName,
+                                  TypeName idType, EntityModel.EntityField sortField) {
+        TypeName returnType = ParameterizedTypeName.get(GeneratedTypes.LIST, entityClassName);
+        String idName = entityModel.getIdField().getName();
+
+        interfaceBuilder.addMethod(MethodSpec.methodBuilder(KeysetSupport.getRepositoryFirstPageMethod(entityModel, sortField))
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .returns(returnType)
+                .addParameter(GeneratedTypes.PAGEABLE, "pageable")
+                .build());
+
+        MethodSpec.Builder pageAfter = MethodSpec.methodBuilder(KeysetSupport.getRepositoryPageAfterMethod(entityModel, sortField))
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .returns(returnType);
+
+        if (sortField == null) {
+            pageAfter.addParameter(idType, idName);
+        } else {
+            String sortName = sortField.getName();
+            String entityName = entityModel.getEntityName() != null ? entityModel.getEntityName() : entityModel.getClassName();
+            String jpql = "SELECT e FROM " + entityName + " e"
+                    + " WHERE e." + sortName + " > :afterSort"
+                    + " OR (e." + sortName + " = :afterSort AND e." + idName + " > :afterId)"
+                    + " ORDER BY e." + sortName + " ASC, e." + idName + " ASC";
+            pageAfter.addAnnotation(AnnotationSpec.builder(GeneratedTypes.QUERY)
+                            .addMember("value", "$S", jpql)
+                            .build())
+                    .addParameter(ParameterSpec.builder(KeysetSupport.cursorType(sortField), "afterSort")
+                            .addAnnotation(AnnotationSpec.builder(GeneratedTypes.PARAM)
+                                    .addMember("value", "$S", "afterSort")
+                                    .build())
+                            .build())
+                    .addParameter(ParameterSpec.builder(idType, "afterId")
+                            .addAnnotation(AnnotationSpec.builder(GeneratedTypes.PARAM)
+                                    .addMember("value", "$S", "afterId")
+                                    .build())
+                            .build());
+        }
+
+        interfaceBuilder.addMethod(pageAfter
+                .addParameter(GeneratedTypes.PAGEABLE, "pageable")
+                .build());
+    }
+
+    /**
+     * Ajoute la méthode {@code streamAllBy()} de l'export : les lignes sont lues par lots de la taille configurée,
+     * sans instantané des entités pour la détection des modifications (lecture seule).
+     */
+    private void addStreamAllMethod(TypeSpec.Builder interfaceBuilder, EntityModel entityModel,
+                                    ClassName entityClassName, ApiGeneratorConfig config) {
+        ClassName queryHint = GeneratedTypes.persistence(entityModel, "QueryHint");
+        AnnotationSpec queryHints = AnnotationSpec.builder(GeneratedTypes.QUERY_HINTS)
+                .addMember("value", "{$L, $L}",
+                        AnnotationSpec.builder(queryHint)
+                                .addMember("name", "$S", "org.hibernate.fetchSize")
+                                .addMember("value", "$S", String.valueOf(Math.max(1, config.getExportFetchSize())))
+                                .build(),
+                        AnnotationSpec.builder(queryHint)
+                                .addMember("name", "$S", "org.hibernate.readOnly")
+                                .addMember("value", "$S", "true")
+                                .build())
+                .build();
+
+        MethodSpec method = MethodSpec.methodBuilder("streamAllBy")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .addJavadoc("À consommer dans une transaction et à fermer après usage.\n"
+                        + "MySQL ne lit en flux qu'avec une taille de lot de {@code Integer.MIN_VALUE}.\n")
+                .addAnnotation(queryHints)
+                .returns(ParameterizedTypeName.get(GeneratedTypes.STREAM, entityClassName))
+                .build();
+
+        interfaceBuilder.addMethod(method);
+    }
+
     private String capitalizeFirstLetter(String input) {
         if (input == null || input.isEmpty()) {
             return input;
         }
         return input.substring(0, 1).toUpperCase() + input.substring(1);
     }
-
-    private TypeName determineTypeName(String type) {
-        switch (type) {
-            case "int": return TypeName.INT;
-            case "long": return TypeName.LONG;
-            case "double": return TypeName.DOUBLE;
-            case "float": return TypeName.FLOAT;
-            case "boolean": return TypeName.BOOLEAN;
-            case "byte": return TypeName.BYTE;
-            case "char": return TypeName.CHAR;
-            case "short": return TypeName.SHORT;
-            case "Integer": return ClassName.get("java.lang", "Integer");
-            case "Long": return ClassName.get("java.lang", "Long");
-            case "Double": return ClassName.get("java.lang", "Double");
-            case "Float": return ClassName.get("java.lang", "Float");
-            case "Boolean": return ClassName.get("java.lang", "Boolean");
-            case "Byte": return ClassName.get("java.lang", "Byte");
-            case "Character": return ClassName.get("java.lang", "Character");
-            case "Short": return ClassName.get("java.lang", "Short");
-            case "String": return ClassName.get("java.lang", "String");
-            case "BigDecimal": return ClassName.get("java.math", "BigDecimal");
-            case "BigInteger": return ClassName.get("java.math", "BigInteger");
-            case "LocalDate": return ClassName.get("java.time", "LocalDate");
-            case "LocalDateTime": return ClassName.get("java.time", "LocalDateTime");
-            case "LocalTime": return ClassName.get("java.time", "LocalTime");
-            case "ZonedDateTime": return ClassName.get("java.time", "ZonedDateTime");
-            case "OffsetDateTime": return ClassName.get("java.time", "OffsetDateTime");
-            case "UUID": return ClassName.get("java.util", "UUID");
-            default: return ClassName.bestGuess(type);
-        }
-    }
 }
@@ -7,8 +7,6 @@ import com.intellij.openapi.project.Project;
 import com.squareup.javapoet.*;
 
 import javax.lang.model.element.Modifier;
-import java.util.List;
-import java.util.Optional;
 
 /**
  * Générateur de classe Service avec opérations CRUD.
@@ -21,19 +19,19 @@ public class ServiceGenerator implements CodeGenerator {
         TypeName idType = getIdTypeName(entityModel);
 
         // Obtenir le nom complet de la classe d'entité
-        ClassName entityClassName = ClassName.get(entityModel.getPackageName(), entityModel.getClassName());
+        ClassName entityClassName = TypeNameResolver.className(entityModel.getPackageName(), entityModel.getClassName());
 
         // Obtenir le nom complet de la classe Repository
         String repositoryPackageName = getRepositoryPackageName(entityModel, config);
         String repositoryClassName = entityModel.getClassName() + config.getRepositorySuffix();
-        ClassName repositoryTypeName = ClassName.get(repositoryPackageName, repositoryClassName);
+        ClassName repositoryTypeName = TypeNameResolver.className(repositoryPackageName, repositoryClassName);
 
         // Créer la classe Service
         TypeSpec.Builder classBuilder = TypeSpec.classBuilder(getGeneratedClassName(entityModel, config))
                 .addModifiers(Modifier.PUBLIC);
 
         // Ajouter les annotations Spring
-        ClassName serviceAnnotation = ClassName.get("org.springframework.stereotype", "Service");
+        ClassName serviceAnnotation = GeneratedTypes.SERVICE;
         classBuilder.addAnnotation(serviceAnnotation);
 
         // Ajouter l'injection du Repository
@@ -42,19 +40,44 @@ public class ServiceGenerator implements CodeGenerator {
         classBuilder.addField(repositoryField);
 
         // Ajouter un constructeur pour l'injection de dépendances
-        MethodSpec constructor = MethodSpec.constructorBuilder()
+        MethodSpec.Builder constructor = MethodSpec.constructorBuilder()
                 .addModifiers(Modifier.PUBLIC)
                 .addParameter(repositoryTypeName, "repository")
-                .addStatement("this.$N = $N", "repository", "repository")
-                .build();
-        classBuilder.addMethod(constructor);
+                .addStatement("this.$N = $N", "repository", "repository");
+
+        // L'export détache chaque entité lue et les lots vident le contexte de persistance : l'EntityManager est nécessaire
+        if (config.isGenerateExportEndpoint() || config.isGenerateBatchEndpoints()) {
+            ClassName entityManagerType = GeneratedTypes.persistence(entityModel, "EntityManager");
+            classBuilder.addField(FieldSpec.builder(entityManagerType, "entityManager", Modifier.PRIVATE, Modifier.FINAL)
+                    .build());
+            constructor.addParameter(entityManagerType, "entityManager")
+                    .addStatement("this.$N = $N", "entityManager", "entityManager");
+        }
+        classBuilder.addMethod(constructor.build());
 
         // Ajouter les méthodes CRUD
-        addFindAllMethod(classBuilder, entityClassName);
+        addFindAllMethod(classBuilder, entityClassName, config);
         addFindByIdMethod(classBuilder, entityClassName, idType);
         addSaveMethod(classBuilder, entityClassName);
         addDeleteMethod(classBuilder, entityClassName, idType);
 
+        if (KeysetSupport.isEnabled(entityModel, config)) {
+            addKeysetMethods(classBuilder, entityModel, entityClassName, idType,
+                    KeysetSupport.getSortField(entityModel, config));
+        }
+
+        if (config.isGenerateExportEndpoint()) {
+            addExportMethod(classBuilder, entityClassName);
+        }
+
+        if (config.isGenerateBatchEndpoints()) {
+            addBatchMethods(classBuilder, entityClassName, idType, config);
+        }
+
+        if (config.isGenerateByIdsEndpoint() && entityModel.getIdField() != null) {
+            addFindAllByIdMethod(classBuilder, entityClassName, idType);
+        }
+
         // Créer le fichier Java
         JavaFile javaFile = JavaFile.builder(getGeneratedPackageName(entityModel, config), classBuilder.build())
                 .indent("    ")
@@ -104,78 +127,181 @@ public class ServiceGenerator implements CodeGenerator {
     private TypeName getIdTypeName(EntityModel entityModel) {
         // Utiliser le type du champ @Id s'il existe
         if (entityModel.getIdField() != null) {
-            String idType = entityModel.getIdField().getType();
-            return determineTypeName(idType);
+            // Type encadré : la clé sert d'argument générique (JpaRepository<E, ID>)
+            return TypeNameResolver.resolve(entityModel.getIdField()).box();
         }
 
         // Par défaut, utiliser Long
-        return ClassName.get("java.lang", "Long");
+        return TypeNameResolver.resolve("Long");
     }
 
     /**
-     * Convertit un nom de type Java en TypeName JavaPoet.
+     * Ajoute la méthode pour récupérer les entités : une page à la fois si la pagination est activée,
+     * sinon la liste complète.
      */
-    private TypeName determineTypeName(String typeName) {
-        switch (typeName) {
-            case "boolean": return TypeName.BOOLEAN;
-            case "byte": return TypeName.BYTE;
-            case "short": return TypeName.SHORT;
-            case "int": return TypeName.INT;
-            case "long": return TypeName.LONG;
-            case "char": return TypeName.CHAR;
-            case "float": return TypeName.FLOAT;
-            case "double": return TypeName.DOUBLE;
-            case "Boolean": return TypeName.BOOLEAN.box();
-            case "Byte": return TypeName.BYTE.box();
-            case "Short": return TypeName.SHORT.box();
-            case "Integer": return TypeName.INT.box();
-            case "Long": return TypeName.LONG.box();
-            case "Character": return TypeName.CHAR.box();
-            case "Float": return TypeName.FLOAT.box();
-            case "Double": return TypeName.DOUBLE.box();
-            case "String": return ClassName.get("java.lang", "String");
-            case "BigDecimal": return ClassName.get("java.math", "BigDecimal");
-            case "BigInteger": return ClassName.get("java.math", "BigInteger");
-            case "LocalDate": return ClassName.get("java.time", "LocalDate");
-            case "LocalTime": return ClassName.get("java.time", "LocalTime");
-            case "LocalDateTime": return ClassName.get("java.time", "LocalDateTime");
-            case "ZonedDateTime": return ClassName.get("java.time", "ZonedDateTime");
-            case "Instant": return ClassName.get("java.time", "Instant");
-            default:
-                // Pour les autres types, supposer que c'est une classe Java
-                // Si le type contient un point, c'est probablement un nom de classe complet
-                if (typeName.contains(".")) {
-                    String packageName = typeName.substring(0, typeName.lastIndexOf("."));
-                    String className = typeName.substring(typeName.lastIndexOf(".") + 1);
-                    return ClassName.get(packageName, className);
-                } else {
-                    return ClassName.get("java.lang", typeName);
-                }
+    private void addFindAllMethod(TypeSpec.Builder classBuilder, TypeName entityType, ApiGeneratorConfig config) {
+        if (!config.isPaginateFindAll()) {
+            TypeName returnType = ParameterizedTypeName.get(
+                    GeneratedTypes.LIST, entityType);
+
+            MethodSpec findAll = MethodSpec.methodBuilder("findAll")
+                    .addModifiers(Modifier.PUBLIC)
+                    .returns(returnType)
+                    .addStatement("return repository.findAll()")
+                    .build();
+
+            classBuilder.addMethod(findAll);
+            return;
         }
-    }
 
-    /**
-     * Ajoute la méthode pour récupérer toutes les entités.
-     */
-    private void addFindAllMethod(TypeSpec.Builder classBuilder, TypeName entityType) {
+        // Un Slice est lu par la méthode findAllBy du Repository, qui n'exécute pas de requête de comptage
+        boolean useSlice = config.isUseSlice();
         TypeName returnType = ParameterizedTypeName.get(
-                ClassName.get(List.class), entityType);
+                useSlice ? GeneratedTypes.SLICE : GeneratedTypes.PAGE, entityType);
 
         MethodSpec findAll = MethodSpec.methodBuilder("findAll")
                 .addModifiers(Modifier.PUBLIC)
+                .addParameter(GeneratedTypes.PAGEABLE, "pageable")
                 .returns(returnType)
-                .addStatement("return repository.findAll()")
+                .addStatement(useSlice ? "return repository.findAllBy(pageable)" : "return repository.findAll(pageable)")
                 .build();
 
         classBuilder.addMethod(findAll);
     }
 
+    /**
+     * Ajoute les méthodes de pagination par curseur : la première page, puis la page qui suit
+     * la dernière entité reçue. Aucune requête de comptage ni OFFSET n'est exécuté.
+     */
+    private void addKeysetMethods(TypeSpec.Builder classBuilder, EntityModel entityModel, TypeName entityType,
+                                  TypeName idType, EntityModel.EntityField sortField) {
+        TypeName returnType = ParameterizedTypeName.get(GeneratedTypes.LIST, entityType);
+
+        MethodSpec firstPage = MethodSpec.methodBuilder(KeysetSupport.FIRST_PAGE_METHOD)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(TypeName.INT, "size")
+                .returns(returnType)
+                .addStatement("return repository.$N($T.of(0, size))",
+                        KeysetSupport.getRepositoryFirstPageMethod(entityModel, sortField), GeneratedTypes.PAGE_REQUEST)
+                .build();
+        classBuilder.addMethod(firstPage);
+
+        MethodSpec.Builder pageAfter = MethodSpec.methodBuilder(KeysetSupport.PAGE_AFTER_METHOD)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(returnType);
+        String repositoryMethod = KeysetSupport.getRepositoryPageAfterMethod(entityModel, sortField);
+        if (sortField == null) {
+            pageAfter.addParameter(idType, "afterId")
+                    .addParameter(TypeName.INT, "size")
+                    .addStatement("return repository.$N(afterId, $T.of(0, size))",
+                            repositoryMethod, GeneratedTypes.PAGE_REQUEST);
+        } else {
+            pageAfter.addParameter(KeysetSupport.cursorType(sortField), "afterSort")
+                    .addParameter(idType, "afterId")
+                    .addParameter(TypeName.INT, "size")
+                    .addStatement("return repository.$N(afterSort, afterId, $T.of(0, size))",
+                            repositoryMethod, GeneratedTypes.PAGE_REQUEST);
+        }
+        classBuilder.addMethod(pageAfter.build());
+    }
+
+    /**
+     * Ajoute la méthode d'export : les entités sont lues en flux dans une transaction en lecture seule
+     * et détachées une fois traitées, pour que le contexte de persistance ne grossisse pas avec la table.
+     */
+    private void addExportMethod(TypeSpec.Builder classBuilder, TypeName entityType) {
+        TypeName streamType = ParameterizedTypeName.get(GeneratedTypes.STREAM, entityType);
+        TypeName consumerType = ParameterizedTypeName.get(GeneratedTypes.CONSUMER,
+                WildcardTypeName.supertypeOf(entityType));
+
+        MethodSpec exportAll = MethodSpec.methodBuilder("exportAll")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationSpec.builder(GeneratedTypes.TRANSACTIONAL)
+                        .addMember("readOnly", "$L", true)
+                        .build())
+                .addParameter(consumerType, "consumer")
+                .beginControlFlow("try ($T entities = repository.streamAllBy())", streamType)
+                .addCode("entities.forEach(entity -> {\n$>")
+                .addStatement("consumer.accept(entity)")
+                .addStatement("entityManager.detach(entity)")
+                .addCode("$<});\n")
+                .endControlFlow()
+                .build();
+
+        classBuilder.addMethod(exportAll);
+    }
+
+    /**
+     * Ajoute les méthodes en lot. Les entités sont écrites par tranches de BATCH_FLUSH_SIZE, chaque tranche étant
+     * suivie d'un flush puis d'un clear : les insertions partent en lots JDBC et le contexte de persistance
+     * ne grossit pas avec la taille de la requête.
+     */
+    private void addBatchMethods(TypeSpec.Builder classBuilder, TypeName entityType, TypeName idType,
+                                 ApiGeneratorConfig config) {
+        FieldSpec flushSize = FieldSpec.builder(TypeName.INT, "BATCH_FLUSH_SIZE",
+                        Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$L", Math.max(1, config.getBatchFlushSize()))
+                .build();
+        classBuilder.addField(flushSize);
+
+        TypeName entityListType = ParameterizedTypeName.get(GeneratedTypes.LIST, entityType);
+        AnnotationSpec transactional = AnnotationSpec.builder(GeneratedTypes.TRANSACTIONAL).build();
+
+        MethodSpec saveAll = MethodSpec.methodBuilder("saveAll")
+                .addModifiers(Modifier.PUBLIC)
+                .addJavadoc("Le batching JDBC suppose {@code hibernate.jdbc.batch_size} égal à $N\n"
+                        + "et un identifiant qui n'est pas généré en IDENTITY.\n", flushSize)
+                .addAnnotation(transactional)
+                .addParameter(entityListType, "entities")
+                .returns(entityListType)
+                .addStatement("$T saved = new $T<>(entities.size())", entityListType, GeneratedTypes.ARRAY_LIST)
+                .beginControlFlow("for (int start = 0; start < entities.size(); start += $N)", flushSize)
+                .addStatement("$T chunk = entities.subList(start, Math.min(start + $N, entities.size()))",
+                        entityListType, flushSize)
+                .addStatement("saved.addAll(repository.saveAll(chunk))")
+                .addStatement("entityManager.flush()")
+                .addStatement("entityManager.clear()")
+                .endControlFlow()
+                .addStatement("return saved")
+                .build();
+        classBuilder.addMethod(saveAll);
+
+        TypeName idListType = ParameterizedTypeName.get(GeneratedTypes.LIST, idType);
+        MethodSpec deleteAll = MethodSpec.methodBuilder("deleteAllById")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(transactional)
+                .addParameter(idListType, "ids")
+                .returns(TypeName.VOID)
+                .addComment("Une requête DELETE ... WHERE id IN (...) par tranche, sans charger les entités")
+                .beginControlFlow("for (int start = 0; start < ids.size(); start += $N)", flushSize)
+                .addStatement("repository.deleteAllByIdInBatch(ids.subList(start, Math.min(start + $N, ids.size())))",
+                        flushSize)
+                .endControlFlow()
+                .build();
+        classBuilder.addMethod(deleteAll);
+    }
+
+    /**
+     * Ajoute la méthode qui lit plusieurs entités en une seule requête (clause IN).
+     * L'ordre du résultat n'est pas garanti ; les identifiants introuvables sont absents.
+     */
+    private void addFindAllByIdMethod(TypeSpec.Builder classBuilder, TypeName entityType, TypeName idType) {
+        MethodSpec findAllById = MethodSpec.methodBuilder("findAllById")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(ParameterizedTypeName.get(GeneratedTypes.COLLECTION, idType), "ids")
+                .returns(ParameterizedTypeName.get(GeneratedTypes.LIST, entityType))
+                .addStatement("return repository.findAllById(ids)")
+                .build();
+
+        classBuilder.addMethod(findAllById);
+    }
+
     /**
      * Ajoute la méthode pour trouver une entité par son ID.
      */
     private void addFindByIdMethod(TypeSpec.Builder classBuilder, TypeName entityType, TypeName idType) {
         TypeName returnType = ParameterizedTypeName.get(
-                ClassName.get(Optional.class), entityType);
+                GeneratedTypes.OPTIONAL, entityType);
 
         MethodSpec findById = MethodSpec.methodBuilder("findById")
                 .addModifiers(Modifier.PUBLIC)
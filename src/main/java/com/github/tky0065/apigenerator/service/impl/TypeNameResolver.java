@@ -0,0 +1,202 @@
+package com.github.tky0065.apigenerator.service.impl;
+
+import com.github.tky0065.apigenerator.model.EntityModel;
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.WildcardTypeName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Convertit les types des champs d'entité en {@link TypeName} JavaPoet, pour tous les générateurs.
+ * Les types sont résolus à partir du nom qualifié (génériques et tableaux compris) et mémorisés :
+ * un même type n'est analysé et instancié qu'une seule fois, quel que soit le nombre d'entités générées.
+ */
+public final class TypeNameResolver {
+
+    // Au-delà de cette taille, les types ne sont plus mémorisés (protège contre une croissance non bornée)
+    private static final int MAX_CACHE_SIZE = 10_000;
+
+    private static final Map<String, TypeName> TYPE_CACHE = new ConcurrentHashMap<>();
+    private static final Map<String, ClassName> CLASS_NAME_CACHE = new ConcurrentHashMap<>();
+
+    // Types connus désignés par leur nom simple (champ sans nom qualifié)
+    private static final Map<String, TypeName> SIMPLE_TYPES = Map.ofEntries(
+            Map.entry("boolean", TypeName.BOOLEAN),
+            Map.entry("byte", TypeName.BYTE),
+            Map.entry("short", TypeName.SHORT),
+            Map.entry("int", TypeName.INT),
+            Map.entry("long", TypeName.LONG),
+            Map.entry("char", TypeName.CHAR),
+            Map.entry("float", TypeName.FLOAT),
+            Map.entry("double", TypeName.DOUBLE),
+            Map.entry("void", TypeName.VOID),
+            Map.entry("Boolean", TypeName.BOOLEAN.box()),
+            Map.entry("Byte", TypeName.BYTE.box()),
+            Map.entry("Short", TypeName.SHORT.box()),
+            Map.entry("Integer", TypeName.INT.box()),
+            Map.entry("Long", TypeName.LONG.box()),
+            Map.entry("Character", TypeName.CHAR.box()),
+            Map.entry("Float", TypeName.FLOAT.box()),
+            Map.entry("Double", TypeName.DOUBLE.box()),
+            Map.entry("Object", TypeName.OBJECT),
+            Map.entry("String", ClassName.get("java.lang", "String")),
+            Map.entry("BigDecimal", ClassName.get("java.math", "BigDecimal")),
+            Map.entry("BigInteger", ClassName.get("java.math", "BigInteger")),
+            Map.entry("LocalDate", ClassName.get("java.time", "LocalDate")),
+            Map.entry("LocalTime", ClassName.get("java.time", "LocalTime")),
+            Map.entry("LocalDateTime", ClassName.get("java.time", "LocalDateTime")),
+            Map.entry("ZonedDateTime", ClassName.get("java.time", "ZonedDateTime")),
+            Map.entry("OffsetDateTime", ClassName.get("java.time", "OffsetDateTime")),
+            Map.entry("Instant", ClassName.get("java.time", "Instant")),
+            Map.entry("UUID", ClassName.get("java.util", "UUID")),
+            Map.entry("Date", ClassName.get("java.util", "Date"))
+    );
+
+    private TypeNameResolver() {
+        // Classe utilitaire, ne doit pas être instanciée
+    }
+
+    /**
+     * Résout le type d'un champ d'entité, en privilégiant son nom qualifié.
+     *
+     * @param field le champ
+     * @return le type JavaPoet correspondant
+     */
+    public static TypeName resolve(EntityModel.EntityField field) {
+        String qualifiedType = field.getQualifiedType();
+        return resolve(qualifiedType != null && !qualifiedType.isEmpty() ? qualifiedType : field.getType());
+    }
+
+    /**
+     * Résout un nom de type (simple ou qualifié, éventuellement générique ou tableau).
+     *
+     * @param typeName le nom du type, par exemple {@code int}, {@code java.util.List<com.example.Tag>} ou {@code byte[]}
+     * @return le type JavaPoet correspondant
+     */
+    public static TypeName resolve(String typeName) {
+        String key = typeName.trim();
+        TypeName cached = TYPE_CACHE.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Pas de computeIfAbsent : l'analyse des génériques rappelle resolve() récursivement
+        TypeName resolved = parse(key);
+        if (TYPE_CACHE.size() < MAX_CACHE_SIZE) {
+            TypeName previous = TYPE_CACHE.putIfAbsent(key, resolved);
+            return previous != null ? previous : resolved;
+        }
+        return resolved;
+    }
+
+    /**
+     * Retourne le {@link ClassName} d'une classe, en réutilisant l'instance déjà créée pour le même nom.
+     *
+     * @param packageName le package de la classe
+     * @param simpleName le nom simple de la classe
+     * @return le nom de classe JavaPoet
+     */
+    public static ClassName className(String packageName, String simpleName) {
+        String key = packageName + "." + simpleName;
+        ClassName cached = CLASS_NAME_CACHE.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        ClassName className = ClassName.get(packageName, simpleName);
+        if (CLASS_NAME_CACHE.size() < MAX_CACHE_SIZE) {
+            ClassName previous = CLASS_NAME_CACHE.putIfAbsent(key, className);
+            return previous != null ? previous : className;
+        }
+        return className;
+    }
+
+    /**
+     * Analyse un nom de type.
+     */
+    private static TypeName parse(String typeName) {
+        // Tableaux : byte[], String[][]
+        if (typeName.endsWith("[]")) {
+            return ArrayTypeName.of(resolve(typeName.substring(0, typeName.length() - 2)));
+        }
+        if (typeName.endsWith("...")) {
+            return ArrayTypeName.of(resolve(typeName.substring(0, typeName.length() - 3)));
+        }
+
+        // Jokers : ?, ? extends T, ? super T
+        if (typeName.startsWith("?")) {
+            String bound = typeName.substring(1).trim();
+            if (bound.startsWith("extends ")) {
+                return WildcardTypeName.subtypeOf(resolve(bound.substring("extends ".length())));
+            }
+            if (bound.startsWith("super ")) {
+                return WildcardTypeName.supertypeOf(resolve(bound.substring("super ".length())));
+            }
+            return WildcardTypeName.subtypeOf(Object.class);
+        }
+
+        // Types génériques : java.util.Map<java.lang.String, java.util.List<java.lang.Long>>
+        int genericStart = typeName.indexOf('<');
+        if (genericStart > 0 && typeName.endsWith(">")) {
+            TypeName rawType = resolve(typeName.substring(0, genericStart));
+            List<String> arguments = splitTypeArguments(typeName.substring(genericStart + 1, typeName.length() - 1));
+            if (rawType instanceof ClassName && !arguments.isEmpty()) {
+                TypeName[] typeArguments = new TypeName[arguments.size()];
+                for (int i = 0; i < arguments.size(); i++) {
+                    typeArguments[i] = resolve(arguments.get(i));
+                }
+                return ParameterizedTypeName.get((ClassName) rawType, typeArguments);
+            }
+            return rawType;
+        }
+
+        TypeName simpleType = SIMPLE_TYPES.get(typeName);
+        if (simpleType != null) {
+            return simpleType;
+        }
+
+        // Nom qualifié : laisser JavaPoet distinguer package et classes imbriquées (com.example.Order.Status)
+        int lastDot = typeName.lastIndexOf('.');
+        if (lastDot > 0) {
+            try {
+                return ClassName.bestGuess(typeName);
+            } catch (IllegalArgumentException e) {
+                return className(typeName.substring(0, lastDot), typeName.substring(lastDot + 1));
+            }
+        }
+
+        // Nom simple inconnu (type du même package ou non résolu) : référencé tel quel, sans import
+        return className("", typeName);
+    }
+
+    /**
+     * Sépare les arguments de type de premier niveau d'une déclaration générique.
+     */
+    private static List<String> splitTypeArguments(String arguments) {
+        List<String> result = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < arguments.length(); i++) {
+            char c = arguments.charAt(i);
+            if (c == '<') {
+                depth++;
+            } else if (c == '>') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                result.add(arguments.substring(start, i).trim());
+                start = i + 1;
+            }
+        }
+        String last = arguments.substring(start).trim();
+        if (!last.isEmpty()) {
+            result.add(last);
+        }
+        return result;
+    }
+}
@@ -3,18 +3,27 @@ package com.github.tky0065.apigenerator.ui;
 import com.github.tky0065.apigenerator.config.ApiGeneratorConfig;
 import com.github.tky0065.apigenerator.model.EntityModel;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.ComboBox;
 import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.ui.DocumentAdapter;
 import com.intellij.ui.components.JBCheckBox;
 import com.intellij.ui.components.JBLabel;
 import com.intellij.ui.components.JBTextField;
+import com.intellij.util.Alarm;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
 import java.awt.*;
 import java.util.ArrayList;
 import java.util.List;
 
 public class ApiGeneratorDialog extends DialogWrapper {
+    // Délai d'attente avant de rafraîchir la prévisualisation, pour regrouper les modifications rapprochées
+    private static final int PREVIEW_DELAY_MS = 300;
+
     private final Project project;
     private final ApiGeneratorConfig config;
     private final EntityModel entityModel;
@@ -42,10 +51,34 @@ public class ApiGeneratorDialog extends DialogWrapper {
     private JBCheckBox generateServiceCheckBox;
     private JBCheckBox generateControllerCheckBox;
     private JBCheckBox useLombokCheckBox;
+    private JBCheckBox autoRegenerateCheckBox;
+
+    // Pagination de la liste
+    private JBCheckBox paginateFindAllCheckBox;
+    private JBCheckBox useSliceCheckBox;
+    private JSpinner defaultPageSizeSpinner;
+    private JSpinner maxPageSizeSpinner;
+    private JBCheckBox generateKeysetCheckBox;
+    private JBTextField keysetSortField;
+
+    // Export en flux
+    private JBCheckBox generateExportCheckBox;
+    private ComboBox<ApiGeneratorConfig.ExportFormat> exportFormatComboBox;
+    private JSpinner exportFetchSizeSpinner;
+
+    // Opérations en lot
+    private JBCheckBox generateBatchCheckBox;
+    private JSpinner maxBatchSizeSpinner;
+    private JSpinner batchFlushSizeSpinner;
+    private JBCheckBox generateByIdsCheckBox;
+    private JSpinner maxIdsPerRequestSpinner;
 
     // Panneau pour la prévisualisation du code
     private JPanel previewPanel;
 
+    // Planifie les rafraîchissements de la prévisualisation
+    private Alarm previewAlarm;
+
     public ApiGeneratorDialog(Project project, ApiGeneratorConfig config, EntityModel entityModel) {
         super(project);
         this.project = project;
@@ -67,8 +100,13 @@ public class ApiGeneratorDialog extends DialogWrapper {
         // Partie droite : prévisualisation du code
         previewPanel = new JPanel(new BorderLayout());
         previewComponent = new CodePreviewComponent(project, entityModel, config);
+        Disposer.register(getDisposable(), previewComponent);
         previewPanel.add(previewComponent.getComponent(), BorderLayout.CENTER);
 
+        // Les rafraîchissements ne s'exécutent que lorsque la prévisualisation est affichée
+        previewAlarm = new Alarm(previewPanel, getDisposable());
+        schedulePreviewUpdate();
+
         // Ajouter un diviseur entre les deux parties
         JSplitPane splitPane = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT, configPanel, previewPanel);
         splitPane.setResizeWeight(0.4);
@@ -110,8 +148,77 @@ public class ApiGeneratorDialog extends DialogWrapper {
         useLombokCheckBox = new JBCheckBox("Utiliser Lombok pour les DTOs", config.isUseLombok());
         optionsPanel.add(useLombokCheckBox);
         optionsPanel.add(new JLabel()); // empty cell
+        autoRegenerateCheckBox = new JBCheckBox("Régénérer automatiquement lorsque l'entité est modifiée",
+                config.isAutoRegenerate());
+        autoRegenerateCheckBox.setToolTipText("Les fichiers modifiés manuellement ne sont jamais remplacés");
+        optionsPanel.add(autoRegenerateCheckBox);
+        optionsPanel.add(new JLabel()); // empty cell
         panel.add(optionsPanel);
 
+        // Section: Pagination
+        JPanel paginationPanel = new JPanel(new GridLayout(0, 2));
+        paginationPanel.setBorder(BorderFactory.createTitledBorder("Pagination de la liste (getAll)"));
+        paginationPanel.add(new JBLabel("Paginer la liste:"));
+        paginateFindAllCheckBox = new JBCheckBox("Pageable", config.isPaginateFindAll());
+        paginationPanel.add(paginateFindAllCheckBox);
+        paginationPanel.add(new JBLabel("Taille de page par défaut:"));
+        defaultPageSizeSpinner = new JSpinner(new SpinnerNumberModel(config.getEffectiveDefaultPageSize(), 1, 10_000, 1));
+        paginationPanel.add(defaultPageSizeSpinner);
+        paginationPanel.add(new JBLabel("Taille de page maximale:"));
+        maxPageSizeSpinner = new JSpinner(new SpinnerNumberModel(config.getEffectiveMaxPageSize(), 1, 10_000, 1));
+        paginationPanel.add(maxPageSizeSpinner);
+        useSliceCheckBox = new JBCheckBox("Retourner un Slice (sans requête de comptage)", config.isUseSlice());
+        useSliceCheckBox.setToolTipText("Évite le COUNT(*) sur toute la table ; le client ne connaît plus le nombre total d'éléments");
+        paginationPanel.add(useSliceCheckBox);
+        paginationPanel.add(new JLabel()); // empty cell
+        generateKeysetCheckBox = new JBCheckBox("Endpoint /cursor (pagination par curseur)", config.isGenerateKeysetEndpoint());
+        generateKeysetCheckBox.setToolTipText("Chaque page coûte autant que la première, quelle que soit sa profondeur");
+        paginationPanel.add(generateKeysetCheckBox);
+        paginationPanel.add(new JLabel()); // empty cell
+        paginationPanel.add(new JBLabel("Champ de tri du curseur (optionnel):"));
+        keysetSortField = new JBTextField(config.getKeysetSortField(), 15);
+        keysetSortField.getEmptyText().setText("clé primaire");
+        paginationPanel.add(keysetSortField);
+        panel.add(paginationPanel);
+
+        // Section: Export
+        JPanel exportPanel = new JPanel(new GridLayout(0, 2));
+        exportPanel.setBorder(BorderFactory.createTitledBorder("Export"));
+        generateExportCheckBox = new JBCheckBox("Endpoint /export (écriture en flux)", config.isGenerateExportEndpoint());
+        generateExportCheckBox.setToolTipText("La mémoire utilisée ne dépend pas du nombre de lignes de la table");
+        exportPanel.add(generateExportCheckBox);
+        exportPanel.add(new JLabel()); // empty cell
+        exportPanel.add(new JBLabel("Format:"));
+        exportFormatComboBox = new ComboBox<>(ApiGeneratorConfig.ExportFormat.values());
+        exportFormatComboBox.setSelectedItem(config.getExportFormat());
+        exportPanel.add(exportFormatComboBox);
+        exportPanel.add(new JBLabel("Lignes lues par lot:"));
+        exportFetchSizeSpinner = new JSpinner(new SpinnerNumberModel(Math.max(1, config.getExportFetchSize()), 1, 100_000, 100));
+        exportPanel.add(exportFetchSizeSpinner);
+        panel.add(exportPanel);
+
+        // Section: Opérations en lot
+        JPanel batchPanel = new JPanel(new GridLayout(0, 2));
+        batchPanel.setBorder(BorderFactory.createTitledBorder("Opérations en lot"));
+        generateBatchCheckBox = new JBCheckBox("Endpoints POST, PUT et DELETE /batch", config.isGenerateBatchEndpoints());
+        batchPanel.add(generateBatchCheckBox);
+        batchPanel.add(new JLabel()); // empty cell
+        batchPanel.add(new JBLabel("Taille de lot maximale:"));
+        maxBatchSizeSpinner = new JSpinner(new SpinnerNumberModel(Math.max(1, config.getMaxBatchSize()), 1, 1_000_000, 100));
+        batchPanel.add(maxBatchSizeSpinner);
+        batchPanel.add(new JBLabel("Entités par flush:"));
+        batchFlushSizeSpinner = new JSpinner(new SpinnerNumberModel(Math.max(1, config.getBatchFlushSize()), 1, 10_000, 10));
+        batchFlushSizeSpinner.setToolTipText("À aligner sur hibernate.jdbc.batch_size");
+        batchPanel.add(batchFlushSizeSpinner);
+        generateByIdsCheckBox = new JBCheckBox("Endpoint /by-ids (lecture de plusieurs entités)", config.isGenerateByIdsEndpoint());
+        generateByIdsCheckBox.setToolTipText("Une seule requête SQL au lieu d'un appel GET /{id} par identifiant");
+        batchPanel.add(generateByIdsCheckBox);
+        batchPanel.add(new JLabel()); // empty cell
+        batchPanel.add(new JBLabel("Identifiants maximum par requête:"));
+        maxIdsPerRequestSpinner = new JSpinner(new SpinnerNumberModel(Math.max(1, config.getMaxIdsPerRequest()), 1, 100_000, 100));
+        batchPanel.add(maxIdsPerRequestSpinner);
+        panel.add(batchPanel);
+
         // Section: Noms des packages
         JPanel packagesPanel = new JPanel(new GridLayout(0, 2));
         packagesPanel.setBorder(BorderFactory.createTitledBorder("Noms des packages (relatifs au package de base)"));
@@ -163,6 +270,17 @@ public class ApiGeneratorDialog extends DialogWrapper {
         return panel;
     }
 
+    /**
+     * Planifie un rafraîchissement de la prévisualisation ; une nouvelle demande remplace la précédente.
+     */
+    private void schedulePreviewUpdate() {
+        if (previewAlarm == null) {
+            return;
+        }
+        previewAlarm.cancelAllRequests();
+        previewAlarm.addRequest(this::updatePreview, PREVIEW_DELAY_MS);
+    }
+
     private void updatePreview() {
         ApiGeneratorConfig tempConfig = new ApiGeneratorConfig();
         updateConfigFromUI(tempConfig);
@@ -178,14 +296,95 @@ public class ApiGeneratorDialog extends DialogWrapper {
             if (!dtosEnabled) {
                 generateMapperCheckBox.setSelected(false);
             }
-            updatePreview();
+            schedulePreviewUpdate();
         });
-        generateMapperCheckBox.addActionListener(e -> updatePreview());
-        generateRepositoryCheckBox.addActionListener(e -> updatePreview());
-        generateServiceCheckBox.addActionListener(e -> updatePreview());
-        generateControllerCheckBox.addActionListener(e -> updatePreview());
-        useLombokCheckBox.addActionListener(e -> updatePreview());
+        generateMapperCheckBox.addActionListener(e -> schedulePreviewUpdate());
+        generateRepositoryCheckBox.addActionListener(e -> schedulePreviewUpdate());
+        generateServiceCheckBox.addActionListener(e -> schedulePreviewUpdate());
+        generateControllerCheckBox.addActionListener(e -> schedulePreviewUpdate());
+        useLombokCheckBox.addActionListener(e -> schedulePreviewUpdate());
         generateMapperCheckBox.setEnabled(generateDtoCheckBox.isSelected());
+
+        paginateFindAllCheckBox.addActionListener(e -> {
+            updatePaginationState();
+            schedulePreviewUpdate();
+        });
+        useSliceCheckBox.addActionListener(e -> schedulePreviewUpdate());
+        generateKeysetCheckBox.addActionListener(e -> {
+            updatePaginationState();
+            schedulePreviewUpdate();
+        });
+        // La taille par défaut ne peut pas dépasser la taille maximale
+        defaultPageSizeSpinner.addChangeListener(e -> {
+            if ((Integer) defaultPageSizeSpinner.getValue() > (Integer) maxPageSizeSpinner.getValue()) {
+                maxPageSizeSpinner.setValue(defaultPageSizeSpinner.getValue());
+            }
+            schedulePreviewUpdate();
+        });
+        maxPageSizeSpinner.addChangeListener(e -> {
+            if ((Integer) maxPageSizeSpinner.getValue() < (Integer) defaultPageSizeSpinner.getValue()) {
+                defaultPageSizeSpinner.setValue(maxPageSizeSpinner.getValue());
+            }
+            schedulePreviewUpdate();
+        });
+        updatePaginationState();
+
+        generateExportCheckBox.addActionListener(e -> {
+            updateExportState();
+            schedulePreviewUpdate();
+        });
+        exportFormatComboBox.addActionListener(e -> schedulePreviewUpdate());
+        exportFetchSizeSpinner.addChangeListener(e -> schedulePreviewUpdate());
+        updateExportState();
+
+        generateBatchCheckBox.addActionListener(e -> {
+            updateBatchState();
+            schedulePreviewUpdate();
+        });
+        maxBatchSizeSpinner.addChangeListener(e -> schedulePreviewUpdate());
+        batchFlushSizeSpinner.addChangeListener(e -> schedulePreviewUpdate());
+        generateByIdsCheckBox.addActionListener(e -> {
+            updateBatchState();
+            schedulePreviewUpdate();
+        });
+        maxIdsPerRequestSpinner.addChangeListener(e -> schedulePreviewUpdate());
+        updateBatchState();
+
+        // Rafraîchir la prévisualisation pendant la saisie des packages et des suffixes
+        DocumentAdapter textListener = new DocumentAdapter() {
+            @Override
+            protected void textChanged(@NotNull DocumentEvent e) {
+                schedulePreviewUpdate();
+            }
+        };
+        for (JBTextField field : List.of(basePackageField, dtoPackageField, mapperPackageField,
+                repositoryPackageField, servicePackageField, controllerPackageField, dtoSuffixField,
+                mapperSuffixField, repositorySuffixField, serviceSuffixField, controllerSuffixField, keysetSortField)) {
+            field.getDocument().addDocumentListener(textListener);
+        }
+    }
+
+    private void updatePaginationState() {
+        boolean paginate = paginateFindAllCheckBox.isSelected();
+        boolean keyset = generateKeysetCheckBox.isSelected();
+        // Les tailles de page s'appliquent aussi à l'endpoint par curseur
+        defaultPageSizeSpinner.setEnabled(paginate || keyset);
+        maxPageSizeSpinner.setEnabled(paginate || keyset);
+        useSliceCheckBox.setEnabled(paginate);
+        keysetSortField.setEnabled(keyset);
+    }
+
+    private void updateExportState() {
+        boolean export = generateExportCheckBox.isSelected();
+        exportFormatComboBox.setEnabled(export);
+        exportFetchSizeSpinner.setEnabled(export);
+    }
+
+    private void updateBatchState() {
+        boolean batch = generateBatchCheckBox.isSelected();
+        maxBatchSizeSpinner.setEnabled(batch);
+        batchFlushSizeSpinner.setEnabled(batch);
+        maxIdsPerRequestSpinner.setEnabled(generateByIdsCheckBox.isSelected());
     }
 
     private void updateConfigFromUI(ApiGeneratorConfig targetConfig) {
@@ -197,6 +396,24 @@ public class ApiGeneratorDialog extends DialogWrapper {
 
         targetConfig.setBasePackage(basePackageField.getText());
         targetConfig.setUseLombok(useLombokCheckBox.isSelected());
+        targetConfig.setAutoRegenerate(autoRegenerateCheckBox.isSelected());
+
+        targetConfig.setPaginateFindAll(paginateFindAllCheckBox.isSelected());
+        targetConfig.setDefaultPageSize((Integer) defaultPageSizeSpinner.getValue());
+        targetConfig.setMaxPageSize((Integer) maxPageSizeSpinner.getValue());
+        targetConfig.setUseSlice(useSliceCheckBox.isSelected());
+        targetConfig.setGenerateKeysetEndpoint(generateKeysetCheckBox.isSelected());
+        targetConfig.setKeysetSortField(keysetSortField.getText().trim());
+
+        targetConfig.setGenerateExportEndpoint(generateExportCheckBox.isSelected());
+        targetConfig.setExportFormat((ApiGeneratorConfig.ExportFormat) exportFormatComboBox.getSelectedItem());
+        targetConfig.setExportFetchSize((Integer) exportFetchSizeSpinner.getValue());
+
+        targetConfig.setGenerateBatchEndpoints(generateBatchCheckBox.isSelected());
+        targetConfig.setMaxBatchSize((Integer) maxBatchSizeSpinner.getValue());
+        targetConfig.setBatchFlushSize((Integer) batchFlushSizeSpinner.getValue());
+        targetConfig.setGenerateByIdsEndpoint(generateByIdsCheckBox.isSelected());
+        targetConfig.setMaxIdsPerRequest((Integer) maxIdsPerRequestSpinner.getValue());
 
         targetConfig.setDtoPackage(dtoPackageField.getText());
         targetConfig.setMapperPackage(mapperPackageField.getText());
@@ -213,18 +430,8 @@ public class ApiGeneratorDialog extends DialogWrapper {
 
     @Override
     protected void doOKAction() {
+        // La prévisualisation est libérée avec le dialogue (voir createCenterPanel)
         updateConfigFromUI(config);
-        if (previewComponent != null) {
-            previewComponent.dispose();
-        }
         super.doOKAction();
     }
-
-    @Override
-    public void doCancelAction() {
-        if (previewComponent != null) {
-            previewComponent.dispose();
-        }
-        super.doCancelAction();
-    }
 }
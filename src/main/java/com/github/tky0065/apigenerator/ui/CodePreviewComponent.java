@@ -3,7 +3,12 @@ package com.github.tky0065.apigenerator.ui;
 import com.github.tky0065.apigenerator.config.ApiGeneratorConfig;
 import com.github.tky0065.apigenerator.model.EntityModel;
 import com.github.tky0065.apigenerator.service.CodeGenerator;
-import com.github.tky0065.apigenerator.service.impl.*;
+import com.github.tky0065.apigenerator.service.impl.GenerationPipeline;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.command.CommandProcessor;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.editor.EditorFactory;
 import com.intellij.openapi.editor.EditorSettings;
@@ -14,26 +19,48 @@ import com.intellij.openapi.fileTypes.FileType;
 import com.intellij.openapi.fileTypes.FileTypeManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.ui.components.JBTabbedPane;
+import com.intellij.util.concurrency.AppExecutorUtil;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
 
 /**
  * Composant permettant de prévisualiser le code généré dans l'interface.
+ * Le code d'un onglet n'est généré, et son éditeur créé, que lorsque l'onglet est affiché.
+ * La génération s'exécute en arrière-plan ; seul le résultat de la configuration la plus récente est affiché.
  */
-public class CodePreviewComponent {
+public class CodePreviewComponent implements Disposable {
     private JPanel mainPanel;
     private JBTabbedPane tabbedPane;
     private final Project project;
     private final EntityModel entityModel;
-    private final ApiGeneratorConfig config;
+    private ApiGeneratorConfig config;
 
-    // Les éditeurs pour chaque type de fichier
-    private Editor dtoEditor;
-    private Editor mapperEditor;
-    private Editor repositoryEditor;
-    private Editor serviceEditor;
-    private Editor controllerEditor;
+    // Incrémenté à chaque changement de configuration pour écarter les résultats périmés
+    private int configVersion;
+
+    // Les onglets de prévisualisation, dans l'ordre d'affichage
+    private final List<PreviewTab> tabs = new ArrayList<>();
+
+    /**
+     * Onglet de prévisualisation d'un type de fichier.
+     * L'éditeur est créé au premier affichage puis réutilisé ; un onglet périmé est régénéré à sa sélection.
+     */
+    private static class PreviewTab {
+        private final CodeGenerator generator;
+        private final Predicate<ApiGeneratorConfig> enabledCondition;
+        private final JPanel panel = new JPanel(new BorderLayout());
+        private Editor editor;
+        private boolean stale = true;
+
+        private PreviewTab(CodeGenerator generator, Predicate<ApiGeneratorConfig> enabledCondition) {
+            this.generator = generator;
+            this.enabledCondition = enabledCondition;
+        }
+    }
 
     public CodePreviewComponent(Project project, EntityModel entityModel, ApiGeneratorConfig config) {
         this.project = project;
@@ -48,12 +75,14 @@ public class CodePreviewComponent {
         tabbedPane = new JBTabbedPane();
         mainPanel.add(tabbedPane, BorderLayout.CENTER);
 
-        // Créer les onglets pour chaque type de fichier
-        createDtoPreview();
-        createMapperPreview();
-        createRepositoryPreview();
-        createServicePreview();
-        createControllerPreview();
+        // Créer un onglet pour chaque type de fichier du pipeline, sans générer leur contenu
+        for (GenerationPipeline.Node node : GenerationPipeline.createDefault().getNodes()) {
+            addTab(node.getType(), node.getGenerator(), node::isEnabled);
+        }
+
+        // Générer uniquement l'onglet affiché, à chaque changement d'onglet ; le premier affichage
+        // est déclenché par le dialogue via updatePreviews
+        tabbedPane.addChangeListener(e -> refreshSelectedTab());
 
         // Dimensionner le composant
         mainPanel.setPreferredSize(new Dimension(800, 400));
@@ -61,155 +90,81 @@ public class CodePreviewComponent {
 
     /**
      * Met à jour le contenu des prévisualisations avec la configuration actuelle.
+     * Seul l'onglet affiché est régénéré ; les autres le seront lors de leur sélection.
      */
     public void updatePreviews(ApiGeneratorConfig updatedConfig) {
-        // Mettre à jour la prévisualisation du DTO
-        if (updatedConfig.isGenerateDto()) {
-            updateDtoPreview(updatedConfig);
-            tabbedPane.setEnabledAt(tabbedPane.indexOfTab("DTO"), true);
-        } else {
-            tabbedPane.setEnabledAt(tabbedPane.indexOfTab("DTO"), false);
-        }
+        this.config = updatedConfig;
+        configVersion++;
 
-        // Mettre à jour la prévisualisation du Mapper
-        if (updatedConfig.isGenerateMapper() && updatedConfig.isGenerateDto()) {
-            updateMapperPreview(updatedConfig);
-            tabbedPane.setEnabledAt(tabbedPane.indexOfTab("Mapper"), true);
-        } else {
-            tabbedPane.setEnabledAt(tabbedPane.indexOfTab("Mapper"), false);
-        }
-
-        // Mettre à jour la prévisualisation du Repository
-        if (updatedConfig.isGenerateRepository()) {
-            updateRepositoryPreview(updatedConfig);
-            tabbedPane.setEnabledAt(tabbedPane.indexOfTab("Repository"), true);
-        } else {
-            tabbedPane.setEnabledAt(tabbedPane.indexOfTab("Repository"), false);
+        for (int i = 0; i < tabs.size(); i++) {
+            PreviewTab tab = tabs.get(i);
+            tab.stale = true;
+            tabbedPane.setEnabledAt(i, tab.enabledCondition.test(updatedConfig));
         }
 
-        // Mettre à jour la prévisualisation du Service
-        if (updatedConfig.isGenerateService()) {
-            updateServicePreview(updatedConfig);
-            tabbedPane.setEnabledAt(tabbedPane.indexOfTab("Service"), true);
-        } else {
-            tabbedPane.setEnabledAt(tabbedPane.indexOfTab("Service"), false);
-        }
-
-        // Mettre à jour la prévisualisation du Controller
-        if (updatedConfig.isGenerateController()) {
-            updateControllerPreview(updatedConfig);
-            tabbedPane.setEnabledAt(tabbedPane.indexOfTab("Controller"), true);
-        } else {
-            tabbedPane.setEnabledAt(tabbedPane.indexOfTab("Controller"), false);
-        }
+        refreshSelectedTab();
     }
 
     /**
-     * Crée l'onglet pour la prévisualisation du DTO.
+     * Ajoute un onglet vide ; son contenu est généré au premier affichage.
      */
-    private void createDtoPreview() {
-        dtoEditor = createJavaEditor();
-        tabbedPane.addTab("DTO", createEditorPanel(dtoEditor));
-        updateDtoPreview(config);
+    private void addTab(String title, CodeGenerator generator, Predicate<ApiGeneratorConfig> enabledCondition) {
+        PreviewTab tab = new PreviewTab(generator, enabledCondition);
+        tabs.add(tab);
+        tabbedPane.addTab(title, tab.panel);
     }
 
     /**
-     * Crée l'onglet pour la prévisualisation du Mapper.
+     * Régénère l'onglet sélectionné s'il est périmé.
+     * Le code est généré sur un thread du pool ; une nouvelle demande annule la génération en cours.
      */
-    private void createMapperPreview() {
-        mapperEditor = createJavaEditor();
-        tabbedPane.addTab("Mapper", createEditorPanel(mapperEditor));
-        updateMapperPreview(config);
-    }
-
-    /**
-     * Crée l'onglet pour la prévisualisation du Repository.
-     */
-    private void createRepositoryPreview() {
-        repositoryEditor = createJavaEditor();
-        tabbedPane.addTab("Repository", createEditorPanel(repositoryEditor));
-        updateRepositoryPreview(config);
-    }
-
-    /**
-     * Crée l'onglet pour la prévisualisation du Service.
-     */
-    private void createServicePreview() {
-        serviceEditor = createJavaEditor();
-        tabbedPane.addTab("Service", createEditorPanel(serviceEditor));
-        updateServicePreview(config);
-    }
-
-    /**
-     * Crée l'onglet pour la prévisualisation du Controller.
-     */
-    private void createControllerPreview() {
-        controllerEditor = createJavaEditor();
-        tabbedPane.addTab("Controller", createEditorPanel(controllerEditor));
-        updateControllerPreview(config);
-    }
-
-    /**
-     * Met à jour la prévisualisation du DTO.
-     */
-    private void updateDtoPreview(ApiGeneratorConfig updatedConfig) {
-        CodeGenerator dtoGenerator = new DtoGenerator();
-        String code = dtoGenerator.generateCode(project, entityModel, updatedConfig);
-        EditorFactory.getInstance().releaseEditor(dtoEditor);
-        dtoEditor = updateEditor(dtoEditor, code);
-        tabbedPane.setComponentAt(tabbedPane.indexOfTab("DTO"), createEditorPanel(dtoEditor));
-    }
+    private void refreshSelectedTab() {
+        int index = tabbedPane.getSelectedIndex();
+        if (index < 0 || !tabbedPane.isEnabledAt(index)) {
+            return;
+        }
 
-    /**
-     * Met à jour la prévisualisation du Mapper.
-     */
-    private void updateMapperPreview(ApiGeneratorConfig updatedConfig) {
-        CodeGenerator mapperGenerator = new MapperGenerator();
-        String code = mapperGenerator.generateCode(project, entityModel, updatedConfig);
-        EditorFactory.getInstance().releaseEditor(mapperEditor);
-        mapperEditor = updateEditor(mapperEditor, code);
-        tabbedPane.setComponentAt(tabbedPane.indexOfTab("Mapper"), createEditorPanel(mapperEditor));
-    }
+        PreviewTab tab = tabs.get(index);
+        if (!tab.stale) {
+            return;
+        }
 
-    /**
-     * Met à jour la prévisualisation du Repository.
-     */
-    private void updateRepositoryPreview(ApiGeneratorConfig updatedConfig) {
-        CodeGenerator repositoryGenerator = new RepositoryGenerator();
-        String code = repositoryGenerator.generateCode(project, entityModel, updatedConfig);
-        EditorFactory.getInstance().releaseEditor(repositoryEditor);
-        repositoryEditor = updateEditor(repositoryEditor, code);
-        tabbedPane.setComponentAt(tabbedPane.indexOfTab("Repository"), createEditorPanel(repositoryEditor));
+        ApiGeneratorConfig generationConfig = config;
+        int version = configVersion;
+        ReadAction.nonBlocking(() -> tab.generator.generateCode(project, entityModel, generationConfig))
+                .coalesceBy(this)
+                .expireWith(this)
+                .finishOnUiThread(ModalityState.stateForComponent(mainPanel), code -> applyCode(tab, code, version))
+                .submit(AppExecutorUtil.getAppExecutorService());
     }
 
     /**
-     * Met à jour la prévisualisation du Service.
+     * Affiche le code généré dans l'onglet, sauf si la configuration a changé entre-temps.
      */
-    private void updateServicePreview(ApiGeneratorConfig updatedConfig) {
-        CodeGenerator serviceGenerator = new ServiceGenerator();
-        String code = serviceGenerator.generateCode(project, entityModel, updatedConfig);
-        EditorFactory.getInstance().releaseEditor(serviceEditor);
-        serviceEditor = updateEditor(serviceEditor, code);
-        tabbedPane.setComponentAt(tabbedPane.indexOfTab("Service"), createEditorPanel(serviceEditor));
-    }
+    private void applyCode(PreviewTab tab, String code, int version) {
+        if (version != configVersion) {
+            return;
+        }
 
-    /**
-     * Met à jour la prévisualisation du Controller.
-     */
-    private void updateControllerPreview(ApiGeneratorConfig updatedConfig) {
-        CodeGenerator controllerGenerator = new ControllerGenerator();
-        String code = controllerGenerator.generateCode(project, entityModel, updatedConfig);
-        EditorFactory.getInstance().releaseEditor(controllerEditor);
-        controllerEditor = updateEditor(controllerEditor, code);
-        tabbedPane.setComponentAt(tabbedPane.indexOfTab("Controller"), createEditorPanel(controllerEditor));
+        if (tab.editor == null) {
+            tab.editor = createJavaEditor(code);
+            tab.panel.add(tab.editor.getComponent(), BorderLayout.CENTER);
+            tab.panel.revalidate();
+        } else {
+            // Réutiliser l'éditeur existant plutôt que d'en recréer un
+            Editor editor = tab.editor;
+            CommandProcessor.getInstance().runUndoTransparentAction(() ->
+                    ApplicationManager.getApplication().runWriteAction(() -> editor.getDocument().setText(code)));
+        }
+        tab.stale = false;
     }
 
     /**
      * Crée un éditeur Java configuré pour l'affichage de code.
      */
-    private Editor createJavaEditor() {
+    private Editor createJavaEditor(String code) {
         EditorFactory editorFactory = EditorFactory.getInstance();
-        Editor editor = editorFactory.createEditor(editorFactory.createDocument(""),
+        Editor editor = editorFactory.createEditor(editorFactory.createDocument(code),
                 project,
                 FileTypeManager.getInstance().getFileTypeByExtension("java"),
                 true);
@@ -237,52 +192,6 @@ public class CodePreviewComponent {
         return editor;
     }
 
-    /**
-     * Met à jour un éditeur avec un nouveau contenu.
-     */
-    private Editor updateEditor(Editor oldEditor, String code) {
-        if (oldEditor != null) {
-            EditorFactory.getInstance().releaseEditor(oldEditor);
-        }
-
-        EditorFactory editorFactory = EditorFactory.getInstance();
-        Editor newEditor = editorFactory.createEditor(editorFactory.createDocument(code),
-                project,
-                FileTypeManager.getInstance().getFileTypeByExtension("java"),
-                true);
-
-        // Configuration de l'éditeur pour la prévisualisation
-        EditorSettings settings = newEditor.getSettings();
-        settings.setLineNumbersShown(true);
-        settings.setFoldingOutlineShown(true);
-        settings.setLineMarkerAreaShown(true);
-        settings.setIndentGuidesShown(true);
-        settings.setGutterIconsShown(true);
-        settings.setAdditionalLinesCount(0);
-        settings.setAdditionalColumnsCount(0);
-        settings.setRightMarginShown(false);
-
-        // Configurer la coloration syntaxique
-        if (newEditor instanceof EditorEx) {
-            EditorEx editorEx = (EditorEx) newEditor;
-            FileType fileType = FileTypeManager.getInstance().getFileTypeByExtension("java");
-            editorEx.setHighlighter(EditorHighlighterFactory.getInstance().createEditorHighlighter(
-                    project, fileType));
-            editorEx.setBackgroundColor(EditorColorsManager.getInstance().getGlobalScheme().getDefaultBackground());
-        }
-
-        return newEditor;
-    }
-
-    /**
-     * Crée un panneau contenant l'éditeur.
-     */
-    private JPanel createEditorPanel(Editor editor) {
-        JPanel panel = new JPanel(new BorderLayout());
-        panel.add(editor.getComponent(), BorderLayout.CENTER);
-        return panel;
-    }
-
     /**
      * Renvoie le composant principal.
      */
@@ -293,21 +202,13 @@ public class CodePreviewComponent {
     /**
      * Libère les ressources des éditeurs à la fermeture du dialogue.
      */
+    @Override
     public void dispose() {
-        if (dtoEditor != null) {
-            EditorFactory.getInstance().releaseEditor(dtoEditor);
-        }
-        if (mapperEditor != null) {
-            EditorFactory.getInstance().releaseEditor(mapperEditor);
-        }
-        if (repositoryEditor != null) {
-            EditorFactory.getInstance().releaseEditor(repositoryEditor);
-        }
-        if (serviceEditor != null) {
-            EditorFactory.getInstance().releaseEditor(serviceEditor);
-        }
-        if (controllerEditor != null) {
-            EditorFactory.getInstance().releaseEditor(controllerEditor);
+        for (PreviewTab tab : tabs) {
+            if (tab.editor != null) {
+                EditorFactory.getInstance().releaseEditor(tab.editor);
+                tab.editor = null;
+            }
         }
     }
 }
@@ -0,0 +1,137 @@
+package com.github.tky0065.apigenerator.ui;
+
+import com.github.tky0065.apigenerator.service.GenerationMetrics;
+import com.github.tky0065.apigenerator.service.GenerationMetrics.PhaseSnapshot;
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.actionSystem.ActionManager;
+import com.intellij.openapi.actionSystem.ActionToolbar;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.DefaultActionGroup;
+import com.intellij.openapi.project.DumbAwareAction;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.SimpleToolWindowPanel;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.table.JBTable;
+import com.intellij.util.Alarm;
+import com.intellij.util.ui.JBUI;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Contenu de la fenêtre « API Generator Metrics » : statistiques de durée par phase et compteurs.
+ * L'affichage est rafraîchi peu après chaque nouvelle mesure.
+ */
+public class GenerationMetricsPanel extends SimpleToolWindowPanel implements Disposable {
+
+    // Délai de regroupement des rafraîchissements lorsque de nombreuses mesures arrivent (génération en lot)
+    private static final int REFRESH_DELAY_MS = 500;
+
+    private static final String[] COLUMNS = {
+            "Phase", "Exécutions", "Total (ms)", "Moyenne (ms)", "p50 (ms)", "p90 (ms)", "p99 (ms)", "Max (ms)"
+    };
+
+    private final GenerationMetrics metrics;
+    private final DefaultTableModel tableModel = new DefaultTableModel(COLUMNS, 0) {
+        @Override
+        public boolean isCellEditable(int row, int column) {
+            return false;
+        }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            // Types explicites pour que le tri des colonnes soit numérique
+            return column == 0 ? String.class : column == 1 ? Long.class : Double.class;
+        }
+    };
+    private final JBLabel countersLabel = new JBLabel();
+    private final Alarm refreshAlarm = new Alarm(Alarm.ThreadToUse.SWING_THREAD, this);
+
+    public GenerationMetricsPanel(Project project) {
+        super(true, true);
+        this.metrics = GenerationMetrics.getInstance(project);
+
+        JBTable table = new JBTable(tableModel);
+        table.setAutoCreateRowSorter(true);
+        countersLabel.setBorder(JBUI.Borders.empty(4, 8));
+
+        JPanel content = new JPanel(new BorderLayout());
+        content.add(ScrollPaneFactory.createScrollPane(table), BorderLayout.CENTER);
+        content.add(countersLabel, BorderLayout.SOUTH);
+        setContent(content);
+        setToolbar(createToolbar().getComponent());
+
+        metrics.addChangeListener(this::scheduleRefresh, this);
+        refresh();
+    }
+
+    private ActionToolbar createToolbar() {
+        DefaultActionGroup group = new DefaultActionGroup();
+        group.add(new DumbAwareAction("Rafraîchir", "Rafraîchir les mesures", AllIcons.Actions.Refresh) {
+            @Override
+            public void actionPerformed(@NotNull AnActionEvent e) {
+                refresh();
+            }
+        });
+        group.add(new DumbAwareAction("Réinitialiser", "Effacer toutes les mesures", AllIcons.Actions.GC) {
+            @Override
+            public void actionPerformed(@NotNull AnActionEvent e) {
+                metrics.reset();
+            }
+        });
+
+        ActionToolbar toolbar = ActionManager.getInstance().createActionToolbar("ApiGeneratorMetrics", group, false);
+        toolbar.setTargetComponent(this);
+        return toolbar;
+    }
+
+    /**
+     * Planifie un rafraîchissement ; peut être appelé depuis n'importe quel thread.
+     */
+    private void scheduleRefresh() {
+        if (!refreshAlarm.isDisposed() && refreshAlarm.getActiveRequestCount() == 0) {
+            refreshAlarm.addRequest(this::refresh, REFRESH_DELAY_MS);
+        }
+    }
+
+    /**
+     * Recharge le tableau et les compteurs. Doit être appelé sur l'EDT.
+     */
+    private void refresh() {
+        tableModel.setRowCount(0);
+        for (PhaseSnapshot snapshot : metrics.getPhaseSnapshots()) {
+            tableModel.addRow(new Object[]{
+                    snapshot.getPhase(),
+                    snapshot.getCount(),
+                    toMillis(snapshot.getTotalNanos()),
+                    toMillis(snapshot.getMeanNanos()),
+                    toMillis(snapshot.getP50Nanos()),
+                    toMillis(snapshot.getP90Nanos()),
+                    toMillis(snapshot.getP99Nanos()),
+                    toMillis(snapshot.getMaxNanos())
+            });
+        }
+
+        Map<String, Long> counters = metrics.getCounters();
+        countersLabel.setText(counters.isEmpty()
+                ? "Aucune génération mesurée depuis l'ouverture du projet"
+                : counters.entrySet().stream()
+                        .map(entry -> entry.getKey() + " : " + entry.getValue())
+                        .collect(Collectors.joining("   ")));
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 10_000d) / 100d;
+    }
+
+    @Override
+    public void dispose() {
+        // L'alarme et l'écouteur des mesures sont libérés avec ce panneau
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.tky0065.apigenerator.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Classe utilitaire pour calculer l'empreinte du contenu des fichiers générés.
+ */
+public class ContentHashUtils {
+
+    private static final String ALGORITHM = "SHA-256";
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private ContentHashUtils() {
+        // Classe utilitaire, ne doit pas être instanciée
+    }
+
+    /**
+     * Calcule l'empreinte SHA-256 d'un contenu.
+     *
+     * @param content le contenu
+     * @return l'empreinte en hexadécimal
+     */
+    @NotNull
+    public static String hash(@NotNull byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance(ALGORITHM).digest(content);
+            char[] hex = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                hex[i * 2] = HEX_DIGITS[(digest[i] >> 4) & 0xF];
+                hex[i * 2 + 1] = HEX_DIGITS[digest[i] & 0xF];
+            }
+            return new String(hex);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 est disponible sur toutes les JVM
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Vérifie si deux contenus déjà en mémoire sont identiques, octet par octet.
+     *
+     * @param content le nouveau contenu
+     * @param existingContent le contenu existant
+     * @return true si les contenus sont identiques
+     */
+    public static boolean isSameContent(@NotNull byte[] content, @NotNull byte[] existingContent) {
+        return Arrays.equals(content, existingContent);
+    }
+}
@@ -1,8 +1,12 @@
 package com.github.tky0065.apigenerator.util;
 
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
 import com.intellij.psi.*;
 import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -11,6 +15,8 @@ import org.jetbrains.annotations.Nullable;
  */
 public class PsiUtils {
 
+    private static final Key<CachedValue<Boolean>> CONTAINS_JPA_ENTITY_KEY = Key.create("apigenerator.containsJpaEntity");
+
     private PsiUtils() {
         // Classe utilitaire, ne doit pas être instanciée
     }
@@ -113,7 +119,16 @@ public class PsiUtils {
             return false;
         }
 
-        String qualifiedName = psiClass.getQualifiedName();
+        return isCollectionClass(psiClass.getQualifiedName());
+    }
+
+    /**
+     * Vérifie si une classe, désignée par son nom qualifié, est une collection (List, Set, Collection, Map).
+     *
+     * @param qualifiedName le nom qualifié de la classe (peut être null)
+     * @return true si la classe est une collection
+     */
+    public static boolean isCollectionClass(@Nullable String qualifiedName) {
         return qualifiedName != null && (
                 qualifiedName.startsWith("java.util.List") ||
                 qualifiedName.startsWith("java.util.Set") ||
@@ -121,4 +136,37 @@ public class PsiUtils {
                 qualifiedName.startsWith("java.util.Map")
         );
     }
+
+    /**
+     * Vérifie si l'une des classes de premier niveau d'un fichier est annotée avec @Entity (javax ou jakarta).
+     * Le résultat est mis en cache sur le fichier et n'est recalculé que lorsque celui-ci est modifié.
+     *
+     * @param psiFile le fichier à vérifier
+     * @return true si le fichier déclare au moins une entité JPA
+     */
+    public static boolean containsJpaEntity(@NotNull PsiFile psiFile) {
+        if (!(psiFile instanceof PsiJavaFile)) {
+            return false;
+        }
+
+        return CachedValuesManager.getCachedValue(psiFile, CONTAINS_JPA_ENTITY_KEY, () ->
+                CachedValueProvider.Result.create(findFirstJpaEntity((PsiJavaFile) psiFile) != null, psiFile));
+    }
+
+    /**
+     * Retourne la première classe de premier niveau d'un fichier annotée avec @Entity (javax ou jakarta).
+     *
+     * @param javaFile le fichier Java
+     * @return la classe d'entité ou null si le fichier n'en déclare pas
+     */
+    @Nullable
+    public static PsiClass findFirstJpaEntity(@NotNull PsiJavaFile javaFile) {
+        for (PsiClass psiClass : javaFile.getClasses()) {
+            if (hasAnnotation(psiClass, "javax.persistence.Entity")
+                    || hasAnnotation(psiClass, "jakarta.persistence.Entity")) {
+                return psiClass;
+            }
+        }
+        return null;
+    }
 }
@@ -0,0 +1,86 @@
+package com.github.tky0065.apigenerator.util;
+
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiPrimitiveType;
+import com.intellij.psi.PsiType;
+import lombok.Value;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache de résolution des types de champs pour une session de génération (une entité ou un lot).
+ * Chaque type distinct n'est résolu qu'une fois ; sa classification est ensuite partagée entre
+ * la validation et l'analyse de toutes les entités de la session.
+ * Une instance ne doit pas survivre à la session : les résultats ne suivent pas les modifications du PSI.
+ */
+public final class TypeResolutionCache {
+
+    /**
+     * Classification d'un type de champ.
+     */
+    @Value
+    public static class TypeInfo {
+        boolean primitive;
+        boolean collection;
+        boolean enumType;
+        // Nom simple de la classe de collection (List, Set, ...), si le type est une collection
+        String collectionType;
+        // Premier argument de type, si le type est une collection
+        String genericType;
+    }
+
+    private static final TypeInfo PRIMITIVE = new TypeInfo(true, false, false, null, null);
+    private static final TypeInfo OTHER = new TypeInfo(false, false, false, null, null);
+
+    private final Map<String, TypeInfo> types = new ConcurrentHashMap<>();
+
+    /**
+     * Retourne la classification d'un type, en ne résolvant le type qu'à sa première rencontre.
+     * Doit être appelé dans une action de lecture.
+     *
+     * @param type le type du champ
+     * @return la classification du type
+     */
+    @NotNull
+    public TypeInfo classify(@NotNull PsiType type) {
+        if (!(type instanceof PsiClassType)) {
+            return type instanceof PsiPrimitiveType ? PRIMITIVE : OTHER;
+        }
+
+        String key = type.getCanonicalText();
+        TypeInfo cached = types.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Pas de computeIfAbsent : la résolution PSI peut être longue et ne doit pas bloquer les autres threads
+        TypeInfo typeInfo = resolve((PsiClassType) type);
+        TypeInfo previous = types.putIfAbsent(key, typeInfo);
+        return previous != null ? previous : typeInfo;
+    }
+
+    /**
+     * @return le nombre de types distincts résolus
+     */
+    public int size() {
+        return types.size();
+    }
+
+    private static TypeInfo resolve(PsiClassType type) {
+        PsiClass psiClass = type.resolve();
+        if (psiClass == null) {
+            return OTHER;
+        }
+
+        if (!PsiUtils.isCollectionClass(psiClass.getQualifiedName())) {
+            return psiClass.isEnum() ? new TypeInfo(false, false, true, null, null) : OTHER;
+        }
+
+        PsiType[] parameters = type.getParameters();
+        String genericType = parameters.length > 0 ? parameters[0].getPresentableText() : null;
+        return new TypeInfo(false, true, false, psiClass.getName(), genericType);
+    }
+}